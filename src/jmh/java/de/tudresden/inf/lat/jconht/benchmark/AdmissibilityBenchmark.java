@@ -0,0 +1,108 @@
+package de.tudresden.inf.lat.jconht.benchmark;
+
+import de.tudresden.inf.lat.jconht.model.Configuration;
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.RestrictedType;
+import de.tudresden.inf.lat.jconht.tableau.AdmissibilityChecker;
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the admissibility check of single nodes, i.e. the consistency check of the object ontology
+ * induced by the type of a node.
+ * <p>
+ * The types are drawn at random (with a fixed seed) over the abstracted meta concepts of the context ontology. The
+ * type cache is disabled, s.t. every type is reasoned about.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdmissibilityBenchmark {
+
+    @Param({"Bank.owl",
+            "CROMMapperTest.owl",
+            "hermit-testonto-1.owl",
+            "hermit-testonto-3.owl",
+            "hermit-testonto-5.owl"})
+    public String ontologyFile;
+
+    @Param({"1", "16", "64"})
+    public int numberOfTypes;
+
+    @Param({"1", "4"})
+    public int objectReasoningThreads;
+
+    private ContextOntology contextOntology;
+    private AdmissibilityChecker checker;
+    private List<RestrictedType> types;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        OWLOntology rootOntology = BenchmarkOntologies.load(ontologyFile);
+        contextOntology = new ContextOntology(rootOntology, new Configuration()
+                .setTypeCacheSize(0)
+                .setObjectReasoningThreads(objectReasoningThreads));
+        checker = new AdmissibilityChecker(contextOntology);
+
+        Random random = new Random(42);
+        types = new ArrayList<>(numberOfTypes);
+        for (int i = 0; i < numberOfTypes; i++) {
+            Set<OWLClass> positiveConcepts = new HashSet<>();
+            Set<OWLClass> negativeConcepts = new HashSet<>();
+            for (int id = 0; id < contextOntology.numberOfMetaConcepts(); id++) {
+                if (random.nextBoolean()) {
+                    positiveConcepts.add(contextOntology.metaConceptOfId(id));
+                } else {
+                    negativeConcepts.add(contextOntology.metaConceptOfId(id));
+                }
+            }
+            types.add(new RestrictedType(positiveConcepts, negativeConcepts));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        checker.dispose();
+        contextOntology.clear();
+    }
+
+    /**
+     * Checks every type separately, regardless of whether an inconsistent type has been found.
+     *
+     * @return The number of consistent types.
+     */
+    @Benchmark
+    public int checkEachType() {
+
+        int consistentTypes = 0;
+        for (RestrictedType type : types) {
+            if (checker.isConsistent(type)) {
+                consistentTypes++;
+            }
+        }
+        return consistentTypes;
+    }
+
+    /**
+     * Checks all types as a batch, which stops at the first inconsistent type and may run in parallel.
+     *
+     * @return <code>true</code> if all types are consistent.
+     */
+    @Benchmark
+    public boolean checkAllTypes() {
+
+        return checker.areConsistent(types);
+    }
+}
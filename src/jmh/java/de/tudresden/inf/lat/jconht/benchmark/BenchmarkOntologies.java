@@ -0,0 +1,37 @@
+package de.tudresden.inf.lat.jconht.benchmark;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.io.File;
+
+/**
+ * This class provides the ontologies the benchmarks are run on.
+ * <p>
+ * The ontologies are read from the directory given by the system property <code>jconht.input</code>, which defaults
+ * to the directory <code>input</code> of the project.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public final class BenchmarkOntologies {
+
+    private BenchmarkOntologies() {
+    }
+
+    /**
+     * This method loads an ontology from the input directory into a fresh ontology manager.
+     *
+     * @param fileName The name of the ontology file relative to the input directory.
+     * @return The loaded ontology.
+     * @throws OWLOntologyCreationException if the ontology cannot be loaded.
+     */
+    public static OWLOntology load(String fileName) throws OWLOntologyCreationException {
+
+        File file = new File(System.getProperty("jconht.input", "input"), fileName);
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        return manager.loadOntologyFromOntologyDocument(file);
+    }
+}
@@ -0,0 +1,111 @@
+package de.tudresden.inf.lat.jconht.benchmark;
+
+import de.tudresden.inf.lat.jconht.model.Configuration;
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.tableau.ContextReasoner;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the consistency check of context ontologies end to end, as well as the preprocessing steps
+ * it consists of.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextReasonerBenchmark {
+
+    @Param({"Bank.owl",
+            "CROMMapperTest.owl",
+            "hermit-testonto-1.owl",
+            "hermit-testonto-2.owl",
+            "hermit-testonto-2-backtrack.owl",
+            "hermit-testonto-3.owl",
+            "hermit-testonto-4.owl",
+            "hermit-testonto-5.owl",
+            "pizza.owl"})
+    public String ontologyFile;
+
+    @Param({"1"})
+    public int objectReasoningThreads;
+
+    private OWLOntology rootOntology;
+    private Configuration configuration;
+    private ContextOntology contextOntology;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        rootOntology = BenchmarkOntologies.load(ontologyFile);
+        configuration = new Configuration().setObjectReasoningThreads(objectReasoningThreads);
+        contextOntology = new ContextOntology(rootOntology, configuration);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        contextOntology.clear();
+        rootOntology.getOWLOntologyManager().clearOntologies();
+    }
+
+    /**
+     * Generation of the meta ontology from the root ontology, without dual and repletion axioms. This is the first
+     * step of <code>constructContextOntology</code>.
+     */
+    @Benchmark
+    public OWLOntology generateMetaOntology() {
+
+        OWLOntology metaOntology = ContextOntology.generateMetaOntology(rootOntology);
+        // The meta ontology is removed from the shared manager again, as in constructContextOntology.
+        rootOntology.getOWLOntologyManager().removeOntology(metaOntology);
+        return metaOntology;
+    }
+
+    /**
+     * Construction of the context ontology, which includes the generation of the meta ontology, the dual and
+     * repletion axioms, and the object axioms of the abstracted meta concepts.
+     */
+    @Benchmark
+    public void constructContextOntology(Blackhole blackhole) {
+
+        ContextOntology constructedOntology = new ContextOntology(rootOntology, configuration);
+        blackhole.consume(constructedOntology);
+        // The meta ontology is removed from the shared manager again, s.t. the manager does not grow across
+        // invocations.
+        constructedOntology.clear();
+    }
+
+    /**
+     * Construction of the reasoner, i.e. the clausification of the meta ontology.
+     */
+    @Benchmark
+    public ContextReasoner constructContextReasoner() {
+
+        ContextReasoner reasoner = new ContextReasoner(contextOntology);
+        reasoner.dispose();
+        return reasoner;
+    }
+
+    /**
+     * Consistency check of a context ontology that has already been constructed.
+     */
+    @Benchmark
+    public boolean isConsistent() {
+
+        ContextReasoner reasoner = new ContextReasoner(contextOntology);
+        try {
+            return reasoner.isConsistent();
+        } finally {
+            reasoner.dispose();
+        }
+    }
+}
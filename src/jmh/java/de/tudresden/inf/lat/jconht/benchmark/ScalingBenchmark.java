@@ -0,0 +1,80 @@
+package de.tudresden.inf.lat.jconht.benchmark;
+
+import de.tudresden.inf.lat.jconht.model.Configuration;
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.ContextOntologyGenerator;
+import de.tudresden.inf.lat.jconht.tableau.ContextReasoner;
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the consistency check on generated context ontologies of growing size, s.t. the scaling of
+ * the reasoner can be charted against the input size.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScalingBenchmark {
+
+    @Param({"8", "16", "32", "64", "128"})
+    public int numberOfMetaConcepts;
+
+    @Param({"0", "2"})
+    public int numberOfRigidNames;
+
+    @Param({"0.2"})
+    public double disjunctionDensity;
+
+    @Param({"0"})
+    public long seed;
+
+    private OWLOntologyManager manager;
+    private ContextOntology contextOntology;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        manager = OWLManager.createOWLOntologyManager();
+        OWLOntology rootOntology = new ContextOntologyGenerator(manager)
+                .setSeed(seed)
+                .setNumberOfMetaConcepts(numberOfMetaConcepts)
+                .setNumberOfMetaAxioms(numberOfMetaConcepts)
+                .setNumberOfContextIndividuals(Math.max(1, numberOfMetaConcepts / 8))
+                .setNumberOfObjectConcepts(numberOfMetaConcepts)
+                .setNumberOfObjectRoles(Math.max(1, numberOfMetaConcepts / 8))
+                .setNumberOfObjectIndividuals(Math.max(1, numberOfMetaConcepts / 8))
+                .setNumberOfGlobalAxioms(numberOfMetaConcepts / 2)
+                .setNumberOfRigidConcepts(numberOfRigidNames)
+                .setDisjunctionDensity(disjunctionDensity)
+                .generate();
+        contextOntology = new ContextOntology(rootOntology, new Configuration());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        contextOntology.clear();
+        manager.clearOntologies();
+    }
+
+    @Benchmark
+    public boolean isConsistent() {
+
+        ContextReasoner reasoner = new ContextReasoner(contextOntology);
+        try {
+            return reasoner.isConsistent();
+        } finally {
+            reasoner.dispose();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package de.tudresden.inf.lat.jconht;
+
+import de.tudresden.inf.lat.jconht.model.Configuration;
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.tableau.ContextReasoner;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormatFactory;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class checks the consistency of many context ontologies in one JVM, s.t. class loading and JIT compilation
+ * are paid only once.
+ * <p>
+ * For every input, one tab-separated line is printed:
+ * <pre>
+ * FILE  RESULT  LOADING_MS  REASONING_MS
+ * </pre>
+ * where RESULT is one of <code>consistent</code>, <code>inconsistent</code>, <code>timeout</code> or
+ * <code>error</code>. In case of an error, the message of the exception is appended as a fifth column. The lines are
+ * printed in the order in which the checks finish.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class BatchChecker {
+
+    private final Supplier<Configuration> configurationSupplier;
+    private final long timeout;
+    private final int threads;
+    private final PrintStream out;
+    private final AtomicInteger errors;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param configurationSupplier Creates the configuration for each context ontology.
+     * @param timeout               The time limit per ontology in seconds, 0 means no limit.
+     * @param threads               The number of ontologies that are checked in parallel.
+     * @param out                   The stream the result lines are printed to.
+     */
+    public BatchChecker(Supplier<Configuration> configurationSupplier, long timeout, int threads, PrintStream out) {
+
+        this.configurationSupplier = configurationSupplier;
+        this.timeout = timeout;
+        this.threads = threads;
+        this.out = out;
+        this.errors = new AtomicInteger();
+    }
+
+    /**
+     * This method collects the ontology files of the given inputs. An input is either
+     * <ul>
+     * <li><code>-</code>, i.e. the paths are read from the standard input, one per line,</li>
+     * <li><code>@FILE</code>, i.e. the paths are read from FILE, one per line,</li>
+     * <li>a directory, i.e. all files in the directory, or</li>
+     * <li>an ontology file.</li>
+     * </ul>
+     *
+     * @param inputs The inputs.
+     * @return The ontology files.
+     * @throws IOException if a list of paths or a directory cannot be read.
+     */
+    public static List<File> collectFiles(List<String> inputs) throws IOException {
+
+        List<File> files = new ArrayList<>();
+        for (String input : inputs) {
+            if (input.equals("-")) {
+                files.addAll(readPaths(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))));
+            } else if (input.startsWith("@")) {
+                try (BufferedReader reader = Files.newBufferedReader(new File(input.substring(1)).toPath())) {
+                    files.addAll(readPaths(reader));
+                }
+            } else if (new File(input).isDirectory()) {
+                try (Stream<File> directory = Files.list(new File(input).toPath()).map(Path::toFile)) {
+                    files.addAll(directory
+                            .filter(File::isFile)
+                            .sorted()
+                            .collect(Collectors.toList()));
+                }
+            } else {
+                files.add(new File(input));
+            }
+        }
+        return files;
+    }
+
+    private static List<File> readPaths(BufferedReader reader) {
+
+        return reader.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .map(File::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This method checks all given files, using a bounded pool of worker threads.
+     *
+     * @param files The ontology files.
+     * @return The number of files whose check ended with an error.
+     */
+    public int checkAll(List<File> files) {
+
+        errors.set(0);
+
+        if (threads <= 1) {
+            files.forEach(file -> print(check(file)));
+            return errors.get();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+        files.forEach(file -> completionService.submit(() -> check(file)));
+
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                print(completionService.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // check() does not throw, hence this should never happen!
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return errors.get();
+    }
+
+    /**
+     * This method checks the consistency of a single context ontology.
+     *
+     * @param file An ontology file.
+     * @return The result line for the file.
+     */
+    public String check(File file) {
+
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        long start = System.nanoTime();
+        long loaded = start;
+        ContextReasoner reasoner = null;
+        try {
+            OWLOntology rootOntology = loadOntology(manager, file);
+            loaded = System.nanoTime();
+
+            ContextOntology contextOntology = new ContextOntology(rootOntology, configurationSupplier.get());
+            reasoner = new ContextReasoner(contextOntology);
+            Optional<Boolean> result = timeout > 0 ?
+                    reasoner.isConsistent(timeout, TimeUnit.SECONDS) :
+                    Optional.of(reasoner.isConsistent());
+
+            return resultLine(file, result.map(isConsistent -> isConsistent ? "consistent" : "inconsistent")
+                    .orElse("timeout"), start, loaded);
+
+        } catch (OWLOntologyCreationException | RuntimeException e) {
+            return errorLine(file, String.valueOf(e.getMessage()), start, loaded);
+        } catch (OutOfMemoryError e) {
+            return errorLine(file, "OutOfMemoryError", start, loaded);
+        } finally {
+            if (reasoner != null) {
+                reasoner.dispose();
+            }
+            manager.clearOntologies();
+        }
+    }
+
+    /**
+     * This method loads an ontology in Manchester syntax.
+     *
+     * @param manager The manager the ontology is loaded into.
+     * @param file    The ontology file.
+     * @return The loaded ontology.
+     * @throws OWLOntologyCreationException if the file cannot be loaded.
+     */
+    static OWLOntology loadOntology(OWLOntologyManager manager, File file) throws OWLOntologyCreationException {
+
+        FileDocumentSource fileDocumentSource =
+                new FileDocumentSource(file, new ManchesterSyntaxDocumentFormatFactory().createFormat());
+        return manager.loadOntologyFromOntologyDocument(fileDocumentSource);
+    }
+
+    private String resultLine(File file, String result, long start, long loaded) {
+
+        long now = System.nanoTime();
+        return file.getPath() + "\t" + result + "\t"
+                + TimeUnit.NANOSECONDS.toMillis(loaded - start) + "\t"
+                + TimeUnit.NANOSECONDS.toMillis(now - loaded);
+    }
+
+    private String errorLine(File file, String message, long start, long loaded) {
+
+        errors.incrementAndGet();
+        // If loading failed, the whole time is spent on loading.
+        return resultLine(file, "error", start, loaded == start ? System.nanoTime() : loaded)
+                + "\t" + message.trim().replaceAll("\\s+", " ");
+    }
+
+    private void print(String resultLine) {
+
+        synchronized (out) {
+            out.println(resultLine);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package de.tudresden.inf.lat.jconht;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.tudresden.inf.lat.jconht.model.Configuration;
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.tableau.ContextReasoner;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * This class provides consistency checks of context ontologies as a local HTTP service.
+ * <p>
+ * The server only listens on the loopback interface and handles the following requests:
+ * <ul>
+ * <li><code>POST /check?timeout=SECONDS</code> with an ontology in any syntax that the OWL API can parse as body.
+ * The response contains the result (<code>consistent</code>, <code>inconsistent</code> or <code>timeout</code>),
+ * the reasoning time and the statistics of the context ontology.</li>
+ * <li><code>GET /metrics</code> returns the number of requests per result and a histogram of the request latencies.
+ * </li>
+ * </ul>
+ * The reasoners of the most recently checked ontologies are kept, s.t. a repeated request for the same ontology
+ * reuses the clausified meta ontology, the object reasoning sessions and the cached verdicts of restricted types. The
+ * kept reasoners are looked up by the SHA-256 digest of the request body, s.t. a repeated request is answered without
+ * parsing the ontology again. Hence, only byte-identical documents hit the cache; the same ontology in another syntax
+ * or with reordered axioms is parsed and clausified again.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class ConsistencyServer {
+
+    private final HttpServer httpServer;
+    private final ExecutorService workers;
+    private final Supplier<Configuration> configurationSupplier;
+    private final long defaultTimeout;
+    private final Map<String, CachedReasoner> reasonerCache;
+    private final LatencyHistogram latencies;
+    private final Map<String, LongAdder> resultCounts;
+
+    /**
+     * This is the standard constructor. The server is not started yet.
+     *
+     * @param port                  The port on the loopback interface, 0 means any free port.
+     * @param threads               The number of requests that are handled in parallel.
+     * @param cacheSize             The number of reasoners that are kept for repeated requests.
+     * @param defaultTimeout        The time limit per request in seconds if none is given, 0 means no limit.
+     * @param configurationSupplier Creates the configuration for each context ontology.
+     * @throws IOException if the server cannot be bound to the port.
+     */
+    public ConsistencyServer(int port,
+                             int threads,
+                             int cacheSize,
+                             long defaultTimeout,
+                             Supplier<Configuration> configurationSupplier) throws IOException {
+
+        this.configurationSupplier = configurationSupplier;
+        this.defaultTimeout = defaultTimeout;
+        this.workers = Executors.newFixedThreadPool(threads);
+        this.latencies = new LatencyHistogram("jconht_request_latency_ms");
+        this.resultCounts = new TreeMap<>();
+        for (String result : Arrays.asList("consistent", "inconsistent", "timeout", "error")) {
+            resultCounts.put(result, new LongAdder());
+        }
+        this.reasonerCache = new LinkedHashMap<String, CachedReasoner>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedReasoner> eldest) {
+                if (size() > cacheSize) {
+                    // The evicted reasoner might still be in use, hence it is released outside of the cache's lock.
+                    workers.execute(eldest.getValue()::dispose);
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        httpServer.setExecutor(workers);
+        httpServer.createContext("/check", this::handleCheck);
+        httpServer.createContext("/metrics", this::handleMetrics);
+    }
+
+    public void start() {
+
+        httpServer.start();
+    }
+
+    /**
+     * This method stops the server and releases all kept reasoners.
+     */
+    public void stop() {
+
+        httpServer.stop(0);
+        workers.shutdownNow();
+        synchronized (reasonerCache) {
+            reasonerCache.values().forEach(CachedReasoner::dispose);
+            reasonerCache.clear();
+        }
+    }
+
+    /**
+     * @return The port the server is bound to.
+     */
+    public int getPort() {
+
+        return httpServer.getAddress().getPort();
+    }
+
+    private void handleCheck(HttpExchange exchange) throws IOException {
+
+        if (!exchange.getRequestMethod().equals("POST")) {
+            respond(exchange, 405, "Only POST is supported.\n");
+            return;
+        }
+
+        long start = System.nanoTime();
+        String result = "error";
+        // Any error that is not handled below is answered as internal error, s.t. no request is left unanswered.
+        int status = 500;
+        String response = "Could not check the ontology.\n";
+        try {
+            long timeout = queryParameter(exchange, "timeout").map(Long::parseLong).orElse(defaultTimeout);
+            // The time limit covers the whole request, including parsing and waiting for the kept reasoner.
+            long deadline = start + TimeUnit.SECONDS.toNanos(timeout);
+            byte[] body = readAll(exchange.getRequestBody());
+            CachedReasoner cachedReasoner = cachedReasoner(body);
+
+            Optional<Boolean> isConsistent;
+            String statistics;
+            synchronized (cachedReasoner) {
+                if (cachedReasoner.reasoner == null) {
+                    throw new IllegalStateException("The reasoner was released while the request was handled.");
+                }
+                long remainingTime = deadline - System.nanoTime();
+                if (timeout <= 0) {
+                    isConsistent = Optional.of(cachedReasoner.reasoner.isConsistent());
+                } else if (remainingTime > 0) {
+                    isConsistent = cachedReasoner.reasoner.isConsistent(remainingTime, TimeUnit.NANOSECONDS);
+                } else {
+                    isConsistent = Optional.empty();
+                }
+                statistics = cachedReasoner.contextOntology.getStatistics();
+            }
+
+            result = isConsistent.map(consistent -> consistent ? "consistent" : "inconsistent").orElse("timeout");
+            status = 200;
+            response = "result: " + result + "\n"
+                    + "reasoning time (ms): " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "\n\n"
+                    + statistics + "\n";
+
+        } catch (NumberFormatException e) {
+            status = 400;
+            response = "Invalid timeout: " + e.getMessage() + "\n";
+        } catch (OWLOntologyCreationException e) {
+            status = 400;
+            response = "Could not parse the ontology: " + e.getMessage() + "\n";
+        } catch (RuntimeException e) {
+            response = "Could not check the ontology: " + e.getMessage() + "\n";
+        } finally {
+            // The metrics are updated before responding, s.t. they include every answered request.
+            latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            resultCounts.get(result).increment();
+            respond(exchange, status, response);
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+
+        StringBuilder builder = new StringBuilder();
+        resultCounts.forEach((result, count) -> builder.append("jconht_requests_total{result=\"")
+                .append(result).append("\"} ").append(count.sum()).append('\n'));
+        synchronized (reasonerCache) {
+            builder.append("jconht_cached_reasoners ").append(reasonerCache.size()).append('\n');
+        }
+        builder.append(latencies);
+
+        respond(exchange, 200, builder.toString());
+    }
+
+    /**
+     * This method returns the reasoner of the given ontology document. If a byte-identical document was checked
+     * recently, the kept reasoner is returned, otherwise the ontology is parsed and a new reasoner is created.
+     */
+    private CachedReasoner cachedReasoner(byte[] body) throws OWLOntologyCreationException {
+
+        String key = sha256(body);
+        synchronized (reasonerCache) {
+            CachedReasoner cachedReasoner = reasonerCache.get(key);
+            if (cachedReasoner != null) {
+                return cachedReasoner;
+            }
+        }
+
+        // Parsing and clausification are done outside the lock, s.t. other requests are not blocked.
+        CachedReasoner cachedReasoner = new CachedReasoner(new String(body, StandardCharsets.UTF_8),
+                configurationSupplier.get());
+        synchronized (reasonerCache) {
+            CachedReasoner concurrentlyCreated = reasonerCache.putIfAbsent(key, cachedReasoner);
+            if (concurrentlyCreated != null) {
+                cachedReasoner.dispose();
+                return concurrentlyCreated;
+            }
+        }
+        return cachedReasoner;
+    }
+
+    private static Optional<String> queryParameter(HttpExchange exchange, String name) {
+
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(query.split("&"))
+                .filter(parameter -> parameter.startsWith(name + "="))
+                .map(parameter -> parameter.substring(name.length() + 1))
+                .findFirst();
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256, hence this should never happen!
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    /**
+     * This class keeps a context ontology together with its reasoner. Its reasoner is used by one request at a time.
+     */
+    private static class CachedReasoner {
+
+        private final OWLOntologyManager manager;
+        private final ContextOntology contextOntology;
+        private ContextReasoner reasoner;
+
+        private CachedReasoner(String document, Configuration configuration) throws OWLOntologyCreationException {
+
+            manager = OWLManager.createOWLOntologyManager();
+            OWLOntology rootOntology = manager.loadOntologyFromOntologyDocument(new StringDocumentSource(document));
+            contextOntology = new ContextOntology(rootOntology, configuration);
+            reasoner = new ContextReasoner(contextOntology);
+        }
+
+        private synchronized void dispose() {
+
+            if (reasoner != null) {
+                reasoner.dispose();
+                reasoner = null;
+                manager.clearOntologies();
+            }
+        }
+    }
+}
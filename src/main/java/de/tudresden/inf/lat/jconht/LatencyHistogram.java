@@ -0,0 +1,80 @@
+package de.tudresden.inf.lat.jconht;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts latencies in fixed buckets. It can be updated by several threads at the same time.
+ * <p>
+ * The histogram is rendered in the text format of Prometheus, i.e. the buckets are cumulative and labelled with
+ * their upper bound in milliseconds.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class LatencyHistogram {
+
+    private static final long[] UPPER_BOUNDS =
+            {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000};
+
+    private final String name;
+    private final LongAdder[] buckets;
+    private final LongAdder count;
+    private final LongAdder sum;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param name The name of the histogram in the rendered output.
+     */
+    public LatencyHistogram(String name) {
+
+        this.name = name;
+        this.buckets = new LongAdder[UPPER_BOUNDS.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+    }
+
+    /**
+     * This method records a latency.
+     *
+     * @param millis The latency in milliseconds.
+     */
+    public void record(long millis) {
+
+        int bucket = 0;
+        while (bucket < UPPER_BOUNDS.length && millis > UPPER_BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        sum.add(millis);
+    }
+
+    /**
+     * @return The number of recorded latencies.
+     */
+    public long count() {
+
+        return count.sum();
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder();
+        long cumulativeCount = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulativeCount += buckets[i].sum();
+            builder.append(name).append("_bucket{le=\"")
+                    .append(i < UPPER_BOUNDS.length ? String.valueOf(UPPER_BOUNDS[i]) : "+Inf")
+                    .append("\"} ").append(cumulativeCount).append('\n');
+        }
+        builder.append(name).append("_count ").append(count.sum()).append('\n');
+        builder.append(name).append("_sum ").append(sum.sum()).append('\n');
+
+        return builder.toString();
+    }
+}
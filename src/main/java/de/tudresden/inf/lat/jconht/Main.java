@@ -4,14 +4,17 @@ import de.tudresden.inf.lat.jconht.model.Configuration;
 import de.tudresden.inf.lat.jconht.model.ContextOntology;
 import de.tudresden.inf.lat.jconht.tableau.ContextReasoner;
 import org.semanticweb.owlapi.apibinding.OWLManager;
-import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormatFactory;
-import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
 
@@ -29,16 +32,28 @@ public class Main {
 
         if (args.length == 0) {
             System.out.println("Usage: JConHT.jar [OPTIONS] INPUT");
+            System.out.println("       JConHT.jar -b [OPTIONS] INPUT...");
+            System.out.println("       JConHT.jar -s PORT [OPTIONS]");
             System.out.println("OPTIONS");
             System.out.println("\t-v\t\tVerbose output");
             System.out.println("\t-vv\t\tMore verbose output");
+            System.out.println("\t-t SECONDS\tStop reasoning after SECONDS seconds");
+            System.out.println("\t-b\t\tBatch mode: check all INPUTs and print one line per ontology");
+            System.out.println("\t\t\tFILE RESULT LOADING_MS REASONING_MS, separated by tabs");
+            System.out.println("\t-j THREADS\tCheck THREADS ontologies in parallel in batch and server mode");
+            System.out.println("\t-c DIR\t\tKeep object consistency verdicts in DIR and reuse them in later runs");
+            System.out.println("\t-s PORT\t\tServer mode: accept ontologies by POST http://localhost:PORT/check,");
+            System.out.println("\t\t\tlatency histogram at GET http://localhost:PORT/metrics");
             System.out.println("INPUT");
             System.out.println("\tthe file location of the .owl file that should be processed");
+            System.out.println("\tin batch mode also a directory, @FILE for a list of files, or - for a list on stdin");
             System.out.println("EXIT CODES");
             System.out.println("\t0\t\tontology is consistent");
             System.out.println("\t13\t\tOWLOntologyCreationException catched, e.g. when INPUT is not found");
             System.out.println("\t42\t\tontology is inconsistent");
+            System.out.println("\t124\t\ttime limit exceeded, consistency is unknown");
             System.out.println("\t127\t\tOutOfMemoryError catched");
+            System.out.println("\tin batch mode: 0 if all ontologies were checked, 1 otherwise");
             return;
         }
 
@@ -50,13 +65,31 @@ public class Main {
             System.out.println("Welcome to JConHT!");
         }
 
+        long timeout = 0;
+        int timeoutIndex = Arrays.asList(args).indexOf("-t");
+        if (timeoutIndex >= 0 && timeoutIndex + 1 < args.length) {
+            timeout = Long.parseLong(args[timeoutIndex + 1]);
+        }
+
+        if (Arrays.asList(args).contains("-b")) {
+            System.exit(runBatch(args, timeout));
+        }
+
+        int portIndex = Arrays.asList(args).indexOf("-s");
+        if (portIndex >= 0 && portIndex + 1 < args.length) {
+            runServer(Integer.parseInt(args[portIndex + 1]), threads(args), timeout, verdictStoreDirectory(args),
+                    verbose);
+            return;
+        }
+
         File file = new File("input/hermit-testonto-2.owl");
         if (args.length != 0) {
             file = new File(args[0]);
         }
 
         OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
-        Configuration conf = new Configuration(true, verbose, false, false);
+        Configuration conf = new Configuration(true, verbose, false, false)
+                .setVerdictStoreDirectory(verdictStoreDirectory(args));
         if (verbose > 0) {
             System.out.print("Loading " + file + " ... ");
         }
@@ -65,8 +98,7 @@ public class Main {
             //TODO oder hier lieber manager.loadOntologyFromOntologyDocument(file) ?
             //OWLOntology rootOntology = manager.loadOntology(IRI.create(file));
 
-            FileDocumentSource fileDocumentSource = new FileDocumentSource(file, new ManchesterSyntaxDocumentFormatFactory().createFormat());
-            OWLOntology rootOntology = manager.loadOntologyFromOntologyDocument(fileDocumentSource);
+            OWLOntology rootOntology = BatchChecker.loadOntology(manager, file);
 
             if (verbose > 0) {
                 System.out.println("done");
@@ -93,13 +125,26 @@ public class Main {
                 System.out.println("---------------------------------------------");
             }
 
-            boolean result = reasoner.isConsistent();
+            Optional<Boolean> result = timeout > 0 ?
+                    reasoner.isConsistent(timeout, TimeUnit.SECONDS) :
+                    Optional.of(reasoner.isConsistent());
+
+            if (verbose > 0) {
+                System.out.println(reasoner.getMetrics());
+            }
+
+            if (!result.isPresent()) {
+                if (verbose > 0) {
+                    System.out.println("The time limit of " + timeout + " seconds was exceeded");
+                }
+                System.exit(124);
+            }
 
             if (verbose > 0) {
-                System.out.println("The context ontology is " + (result ? "" : "not ") + "consistent");
+                System.out.println("The context ontology is " + (result.get() ? "" : "not ") + "consistent");
             }
 
-            System.exit(result ? 0 : 42);
+            System.exit(result.get() ? 0 : 42);
 
         } catch (OWLOntologyCreationException e) {
             e.printStackTrace();
@@ -110,5 +155,64 @@ public class Main {
             System.exit(127);
         }
     }
-}
 
+    private static int threads(String[] args) {
+
+        int threadsIndex = Arrays.asList(args).indexOf("-j");
+        if (threadsIndex >= 0 && threadsIndex + 1 < args.length) {
+            return Integer.parseInt(args[threadsIndex + 1]);
+        }
+        return 1;
+    }
+
+    private static File verdictStoreDirectory(String[] args) {
+
+        int directoryIndex = Arrays.asList(args).indexOf("-c");
+        if (directoryIndex >= 0 && directoryIndex + 1 < args.length) {
+            return new File(args[directoryIndex + 1]);
+        }
+        return null;
+    }
+
+    private static void runServer(int port, int threads, long timeout, File verdictStoreDirectory, int verbose) {
+
+        try {
+            ConsistencyServer server = new ConsistencyServer(port, threads, 16, timeout,
+                    () -> new Configuration(true, 0, false, false).setVerdictStoreDirectory(verdictStoreDirectory));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            server.start();
+            if (verbose > 0) {
+                System.out.println("Listening on http://localhost:" + server.getPort() + "/check");
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static int runBatch(String[] args, long timeout) {
+
+        int threads = threads(args);
+
+        // All arguments that are neither options nor values of options are inputs.
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-t") || args[i].equals("-j") || args[i].equals("-c")) {
+                i++;
+            } else if (args[i].equals("-") || !args[i].startsWith("-")) {
+                inputs.add(args[i]);
+            }
+        }
+
+        try {
+            File verdictStoreDirectory = verdictStoreDirectory(args);
+            BatchChecker batchChecker = new BatchChecker(
+                    () -> new Configuration(true, 0, false, false).setVerdictStoreDirectory(verdictStoreDirectory),
+                    timeout, threads, System.out);
+            return batchChecker.checkAll(BatchChecker.collectFiles(inputs)) == 0 ? 0 : 1;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package de.tudresden.inf.lat.jconht.model;
+
+import org.semanticweb.HermiT.model.*;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class converts HermiT concepts to OWL class expressions and OWL classes back to HermiT atomic concepts.
+ * <p>
+ * HermiT interns its concepts, roles and data ranges, and they do not override <code>equals</code>. Hence, the
+ * conversions are memoised per object identity, and each HermiT concept is converted only once. A converter can be
+ * used by several threads at the same time.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class ConceptConverter {
+
+    private final OWLDataFactory dataFactory;
+    private final Map<Concept, OWLClassExpression> classExpressions;
+    private final Map<Role, OWLObjectPropertyExpression> objectPropertyExpressions;
+    private final Map<OWLClass, AtomicConcept> atomicConcepts;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param dataFactory The data factory used to create the OWL class expressions.
+     */
+    public ConceptConverter(OWLDataFactory dataFactory) {
+
+        this.dataFactory = dataFactory;
+        this.classExpressions = new ConcurrentHashMap<>();
+        this.objectPropertyExpressions = new ConcurrentHashMap<>();
+        this.atomicConcepts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * This method converts a HermiT concept to an OWL class expression.
+     *
+     * @param concept A HermiT concept.
+     * @return The corresponding OWL class expression, or <code>null</code> if there is none, e.g. for description
+     * graphs.
+     */
+    public OWLClassExpression toOWLClassExpression(Concept concept) {
+
+        OWLClassExpression classExpression = classExpressions.get(concept);
+        if (classExpression == null) {
+            // The conversion is not done within computeIfAbsent(), because it converts nested concepts recursively.
+            classExpression = convert(concept);
+            if (classExpression != null) {
+                classExpressions.putIfAbsent(concept, classExpression);
+            }
+        }
+        return classExpression;
+    }
+
+    /**
+     * This method converts a HermiT role to an OWL object property expression.
+     *
+     * @param role A HermiT role.
+     * @return The corresponding OWL object property expression.
+     */
+    public OWLObjectPropertyExpression toOWLObjectPropertyExpression(Role role) {
+
+        return objectPropertyExpressions.computeIfAbsent(role, this::convert);
+    }
+
+    /**
+     * This method converts an OWL class to the HermiT atomic concept of the same IRI.
+     *
+     * @param owlClass An OWL class.
+     * @return The corresponding HermiT atomic concept.
+     */
+    public AtomicConcept toAtomicConcept(OWLClass owlClass) {
+
+        return atomicConcepts.computeIfAbsent(owlClass, cls -> AtomicConcept.create(cls.getIRI().toString()));
+    }
+
+    private OWLClassExpression convert(Concept concept) {
+
+        if (concept instanceof AtomicConcept) {
+            return dataFactory.getOWLClass(IRI.create(((AtomicConcept) concept).getIRI()));
+        } else if (concept instanceof AtomicNegationConcept) {
+            return dataFactory.getOWLObjectComplementOf(
+                    toOWLClassExpression(((AtomicNegationConcept) concept).getNegatedAtomicConcept()));
+        } else if (concept instanceof AtLeastConcept) {
+            AtLeastConcept atLeastConcept = (AtLeastConcept) concept;
+            return dataFactory.getOWLObjectMinCardinality(
+                    atLeastConcept.getNumber(),
+                    toOWLObjectPropertyExpression(atLeastConcept.getOnRole()),
+                    toOWLClassExpression(atLeastConcept.getToConcept()));
+        } else if (concept instanceof AtLeastDataRange) {
+            AtLeastDataRange atLeastDataRange = (AtLeastDataRange) concept;
+            return dataFactory.getOWLDataMinCardinality(
+                    atLeastDataRange.getNumber(),
+                    dataFactory.getOWLDataProperty(IRI.create(((AtomicRole) atLeastDataRange.getOnRole()).getIRI())),
+                    toOWLDataRange(atLeastDataRange.getToDataRange()));
+        }
+
+        // Description graphs have no counterpart in OWL.
+        return null;
+    }
+
+    private OWLObjectPropertyExpression convert(Role role) {
+
+        if (role instanceof AtomicRole) {
+            return dataFactory.getOWLObjectProperty(IRI.create(((AtomicRole) role).getIRI()));
+        } else if (role instanceof InverseRole) {
+            return dataFactory.getOWLObjectInverseOf(dataFactory.getOWLObjectProperty(
+                    IRI.create(((InverseRole) role).getInverseOf().getIRI())));
+        }
+        throw new UnhandledHermiTObjectException("Unknown HermiT role type in ConceptConverter: " + role.getClass());
+    }
+
+    private OWLDataRange toOWLDataRange(DataRange dataRange) {
+
+        if (dataRange instanceof InternalDatatype) {
+            return dataFactory.getOWLDatatype(IRI.create(((InternalDatatype) dataRange).getIRI()));
+        } else if (dataRange instanceof AtomicNegationDataRange) {
+            return dataFactory.getOWLDataComplementOf(
+                    toOWLDataRange(((AtomicNegationDataRange) dataRange).getNegatedDataRange()));
+        } else if (dataRange instanceof ConstantEnumeration) {
+            ConstantEnumeration constantEnumeration = (ConstantEnumeration) dataRange;
+            OWLLiteral[] literals = new OWLLiteral[constantEnumeration.getNumberOfConstants()];
+            for (int i = 0; i < literals.length; i++) {
+                literals[i] = toOWLLiteral(constantEnumeration.getConstant(i));
+            }
+            return dataFactory.getOWLDataOneOf(literals);
+        } else if (dataRange instanceof DatatypeRestriction) {
+            DatatypeRestriction datatypeRestriction = (DatatypeRestriction) dataRange;
+            OWLFacetRestriction[] facetRestrictions =
+                    new OWLFacetRestriction[datatypeRestriction.getNumberOfFacetRestrictions()];
+            for (int i = 0; i < facetRestrictions.length; i++) {
+                facetRestrictions[i] = dataFactory.getOWLFacetRestriction(
+                        OWLFacet.getFacet(IRI.create(datatypeRestriction.getFacetURI(i))),
+                        toOWLLiteral(datatypeRestriction.getFacetValue(i)));
+            }
+            return dataFactory.getOWLDatatypeRestriction(
+                    dataFactory.getOWLDatatype(IRI.create(datatypeRestriction.getDatatypeURI())),
+                    facetRestrictions);
+        }
+        throw new UnhandledHermiTObjectException("Unknown HermiT data range type in ConceptConverter: "
+                + dataRange.getClass());
+    }
+
+    private OWLLiteral toOWLLiteral(Constant constant) {
+
+        return dataFactory.getOWLLiteral(constant.getLexicalForm(),
+                dataFactory.getOWLDatatype(IRI.create(constant.getDatatypeURI())));
+    }
+}
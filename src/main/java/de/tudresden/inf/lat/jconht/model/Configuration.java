@@ -1,5 +1,8 @@
 package de.tudresden.inf.lat.jconht.model;
 
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+
 /**
  * This class ...
  *
@@ -12,6 +15,14 @@ public class Configuration {
     private int debugOutput;
     private boolean useDualization;
     private boolean useRepletion;
+    private int typeCacheSize = 10000;
+    private int objectReasoningThreads = 1;
+    private ExecutorService objectReasoningExecutor;
+    private boolean useConflictLearning = false;
+    private double minimumFreeHeapFraction = 0;
+    private boolean useLinearDualization = true;
+    private File verdictStoreDirectory;
+    private int entailmentThreads = 1;
 
     /**
      * Constructor that sets all boolean fields accordingly.
@@ -63,4 +74,127 @@ public class Configuration {
     public boolean useRepletion() {
         return useRepletion;
     }
-}
+
+    public int typeCacheSize() {
+        return typeCacheSize;
+    }
+
+    /**
+     * Sets the maximal number of restricted types whose object consistency is cached during reasoning.
+     * @param typeCacheSize the maximal number of cached types, 0 disables the cache.
+     * @return this configuration.
+     */
+    public Configuration setTypeCacheSize(int typeCacheSize) {
+        this.typeCacheSize = typeCacheSize;
+        return this;
+    }
+
+    public int objectReasoningThreads() {
+        return objectReasoningThreads;
+    }
+
+    /**
+     * Sets the number of threads used for checking the object ontologies of the nodes of a premodel in parallel.
+     * This only applies to context ontologies without rigid names.
+     * @param objectReasoningThreads the number of threads, 1 means that the checks are done sequentially.
+     * @return this configuration.
+     */
+    public Configuration setObjectReasoningThreads(int objectReasoningThreads) {
+        this.objectReasoningThreads = objectReasoningThreads;
+        return this;
+    }
+
+    public ExecutorService objectReasoningExecutor() {
+        return objectReasoningExecutor;
+    }
+
+    /**
+     * Sets the executor that runs parallel object consistency checks. If none is set, a fork-join pool with
+     * <code>objectReasoningThreads</code> threads is created by the reasoner. A given executor is not shut down by
+     * the reasoner.
+     * @param objectReasoningExecutor the executor for object consistency checks.
+     * @return this configuration.
+     */
+    public Configuration setObjectReasoningExecutor(ExecutorService objectReasoningExecutor) {
+        this.objectReasoningExecutor = objectReasoningExecutor;
+        return this;
+    }
+
+    public boolean useConflictLearning() {
+        return useConflictLearning;
+    }
+
+    /**
+     * Sets whether inadmissible types are shrunk to minimal inconsistent subtypes, which are learned as nogoods and
+     * used for backjumping on the meta level. This only applies to context ontologies without rigid names.
+     * @param useConflictLearning if <code>true</code>, conflict learning is used.
+     * @return this configuration.
+     */
+    public Configuration setConflictLearning(boolean useConflictLearning) {
+        this.useConflictLearning = useConflictLearning;
+        return this;
+    }
+
+    public double minimumFreeHeapFraction() {
+        return minimumFreeHeapFraction;
+    }
+
+    /**
+     * Sets the fraction of the maximal heap that should be free during reasoning. If less heap is free before an
+     * object consistency check, the cached verdicts, idle object reasoners and other caches are released.
+     * @param minimumFreeHeapFraction a fraction between 0 and 1, 0 means that caches are never released.
+     * @return this configuration.
+     */
+    public Configuration setMinimumFreeHeapFraction(double minimumFreeHeapFraction) {
+        this.minimumFreeHeapFraction = minimumFreeHeapFraction;
+        return this;
+    }
+
+    public boolean useLinearDualization() {
+        return useLinearDualization;
+    }
+
+    /**
+     * Sets whether meta axioms are dualized with an encoding of linear size where possible. Otherwise, one copy of a
+     * meta axiom is added for every non-empty set of its abstracted meta concepts. This only applies if dualization
+     * is used.
+     * @param useLinearDualization if <code>true</code>, the linear encoding is used where possible.
+     * @return this configuration.
+     */
+    public Configuration setLinearDualization(boolean useLinearDualization) {
+        this.useLinearDualization = useLinearDualization;
+        return this;
+    }
+
+    public File verdictStoreDirectory() {
+        return verdictStoreDirectory;
+    }
+
+    /**
+     * Sets the directory of a persistent store of object consistency verdicts, which are reused by later runs on
+     * context ontologies with the same global object ontology. This only applies to context ontologies without rigid
+     * names.
+     * @param verdictStoreDirectory the directory of the verdict store, <code>null</code> disables the store.
+     * @return this configuration.
+     */
+    public Configuration setVerdictStoreDirectory(File verdictStoreDirectory) {
+        this.verdictStoreDirectory = verdictStoreDirectory;
+        return this;
+    }
+
+    public int entailmentThreads() {
+        return entailmentThreads;
+    }
+
+    /**
+     * Sets the number of threads used for checking a batch of entailments in parallel. This only applies to queries
+     * that need their own meta tableau, i.e. whose clausified negation is not supported by the meta tableau of the
+     * reasoner.
+     * @param entailmentThreads the number of threads, 1 means that the queries are checked sequentially.
+     * @return this configuration.
+     */
+    public Configuration setEntailmentThreads(int entailmentThreads) {
+        this.entailmentThreads = entailmentThreads;
+        return this;
+    }
+}
\ No newline at end of file
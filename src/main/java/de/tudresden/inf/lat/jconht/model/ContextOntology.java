@@ -1,15 +1,15 @@
 package de.tudresden.inf.lat.jconht.model;
 
 import de.tudresden.inf.lat.jconht.tableau.AxiomRenamer;
+import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.io.OWLObjectRenderer;
 import org.semanticweb.owlapi.io.ToStringRenderer;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.util.QNameShortFormProvider;
 import org.semanticweb.owlapi.util.SimpleRenderer;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -24,6 +24,7 @@ import java.util.stream.Stream;
 public class ContextOntology {
 
     private final OWLOntologyManager ontologyManager;
+    private final OWLOntologyManager objectOntologyManager;
     private final OWLDataFactory dataFactory;
     private final OWLOntology rootOntology;
     private final Configuration configuration;
@@ -39,8 +40,27 @@ public class ContextOntology {
     private final Predicate<OWLEntity> entityIsOWLObjectProperty;
     private final Predicate<OWLClass> classIsAbstractedMetaConcept;
     private final boolean containsRigidNames;
+    private final Set<IRI> rigidIRIs;
+    private final Set<IRI> objectLevelIRIs;
+    private final List<OWLClass> metaConceptsById;
+    private final Map<OWLClass, Integer> metaConceptIds;
+    private final List<OWLAxiom> globalObjectAxioms;
+    private final Set<OWLEntity> objectSignature;
+    private final List<OWLClass> rigidClasses;
+    private final List<OWLObjectProperty> rigidObjectProperties;
+    private final List<OWLClass> flexibleClasses;
+    private final List<OWLObjectProperty> flexibleObjectProperties;
+    private AxiomRenamer axiomRenamer;
     private OWLOntology metaOntology;
     private Map<OWLClass, OWLAxiom> objectAxiomsMap;
+    private final Map<OWLClass, OWLAxiom> negatedObjectAxiomsMap;
+    private final Map<OWLClass, OWLClass> originalOfDualClass;
+    private final AxiomNegator axiomNegator;
+    private final ReasoningMetrics metrics;
+    private final ConceptConverter conceptConverter;
+    private boolean ownsRootOntology;
+    // The ontology that changes refer to, which is the root ontology unless this is the result of applied changes.
+    private OWLOntology sourceOntology;
     //private Set<OWLClass> rigidClasses; // todo müssen wir rigid names wirklich als set speichern? welche Alternativen? siehe 10 Zeilen weiter unten
 
 
@@ -65,8 +85,11 @@ public class ContextOntology {
     public ContextOntology(OWLOntology rootOntology, Configuration configuration) {
 
         ontologyManager = rootOntology.getOWLOntologyManager();
+        // Object ontologies are only needed temporarily, hence they are kept out of the root ontology's manager.
+        objectOntologyManager = OWLManager.createConcurrentOWLOntologyManager();
         dataFactory = ontologyManager.getOWLDataFactory();
         this.rootOntology = rootOntology;
+        this.sourceOntology = rootOntology;
         this.configuration = configuration;
 
 
@@ -76,33 +99,51 @@ public class ContextOntology {
         objectGlobal = dataFactory.getOWLLiteral("objectGlobal");
         rigid = dataFactory.getOWLLiteral("rigid");
 
-        //TODO kann man das hier schöner aufschreiben?
-        iriIsOWLClass =
-                iri -> rootOntology.classesInSignature().map(HasIRI::getIRI).anyMatch(iri1 -> iri1.equals(iri));
-        iriIsOWLObjectProperty =
-                iri -> rootOntology.objectPropertiesInSignature().map(HasIRI::getIRI).anyMatch(iri1 -> iri1.equals(iri));
-        entityIsOWLClass =
-                entity -> rootOntology.classesInSignature().anyMatch(cls -> cls.equals(entity));
-        entityIsOWLObjectProperty =
-                entity -> rootOntology.objectPropertiesInSignature().anyMatch(cls -> cls.equals(entity));
-        iriIsObjectLevel =
-                iri -> objectSignature().map(HasIRI::getIRI).anyMatch(iri1 -> iri1.equals(iri))
-                        && !(dataFactory.getOWLThing().getIRI().equals(iri)
-                        || dataFactory.getOWLNothing().getIRI().equals(iri)
-                        || dataFactory.getOWLBottomObjectProperty().getIRI().equals(iri)
-                        || dataFactory.getOWLTopObjectProperty().getIRI().equals(iri));
-        iriIsRigid =
-                iri -> rootOntology
-                        .axioms(AxiomType.ANNOTATION_ASSERTION)
-                        .filter(axiom -> axiom.getAnnotation().getProperty().isLabel())
-                        .filter(axiom -> axiom.getValue().equals(rigid))
-                        .map(axiom -> axiom.getSubject().asIRI().get())
-                        .anyMatch(iri1 -> iri1.equals(iri));
-        classIsAbstractedMetaConcept =
-                owlClass -> objectAxiomsMap.keySet().stream().anyMatch(metaConcept -> metaConcept.equals(owlClass));
+        // The signature of the root ontology is indexed once, s.t. all predicates are hash lookups.
+        Set<OWLClass> classesInSignature = rootOntology.classesInSignature().collect(Collectors.toSet());
+        Set<OWLObjectProperty> objectPropertiesInSignature =
+                rootOntology.objectPropertiesInSignature().collect(Collectors.toSet());
+        Set<IRI> classIRIs = classesInSignature.stream().map(HasIRI::getIRI).collect(Collectors.toSet());
+        Set<IRI> objectPropertyIRIs = objectPropertiesInSignature.stream()
+                .map(HasIRI::getIRI)
+                .collect(Collectors.toSet());
+        rigidIRIs = rootOntology
+                .axioms(AxiomType.ANNOTATION_ASSERTION)
+                .filter(axiom -> axiom.getAnnotation().getProperty().isLabel())
+                .filter(axiom -> axiom.getValue().equals(rigid))
+                .map(axiom -> axiom.getSubject().asIRI())
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toSet());
+
+        iriIsOWLClass = classIRIs::contains;
+        iriIsOWLObjectProperty = objectPropertyIRIs::contains;
+        entityIsOWLClass = classesInSignature::contains;
+        entityIsOWLObjectProperty = objectPropertiesInSignature::contains;
+        iriIsRigid = rigidIRIs::contains;
+        classIsAbstractedMetaConcept = owlClass -> objectAxiomsMap.containsKey(owlClass);
+
+        // The global object axioms are copied once, s.t. later changes of the root ontology have no effect.
+        globalObjectAxioms = Collections.unmodifiableList(rootOntology.axioms()
+                // consider only logical axioms
+                .filter(owlAxiom -> owlAxiom.isOfType(AxiomType.LOGICAL_AXIOM_TYPES))
+                // consider only axioms that are labelled with 'global'
+                .filter(owlAxiom -> owlAxiom.annotations(label)
+                        .anyMatch(owlAnnotation -> owlAnnotation.getValue().equals(objectGlobal)))
+                .map(owlAxiom -> (OWLAxiom) owlAxiom.getAxiomWithoutAnnotations())
+                .distinct()
+                .collect(Collectors.toList()));
+        // Object axioms are negated on demand, possibly by several object reasoning threads at the same time.
+        negatedObjectAxiomsMap = new ConcurrentHashMap<>();
+        originalOfDualClass = new HashMap<>();
+        axiomNegator = new AxiomNegator(dataFactory);
+        metrics = new ReasoningMetrics();
+        conceptConverter = new ConceptConverter(dataFactory);
 
         // Obtain meta ontology
+        long start = System.nanoTime();
         generateMetaOntology();
+        metrics.stop(ReasoningMetrics.Phase.META_ONTOLOGY, start);
 
 
         // Set renderer s.t. IRIs are shortened.
@@ -131,20 +172,68 @@ public class ContextOntology {
 
         // Add dual axioms to meta ontology
         if (configuration.useDualization()) {
+            start = System.nanoTime();
             addDualAxiomsToMetaOntology();
+            metrics.stop(ReasoningMetrics.Phase.DUALIZATION, start);
         }
 
         // Add repleted axioms to meta ontology
         if (configuration.useRepletion()) {
+            start = System.nanoTime();
             addRepletionAxiomsToMetaOntology();
+            metrics.stop(ReasoningMetrics.Phase.REPLETION, start);
         }
 
 
         // Are there rigid names?
-        containsRigidNames = rootOntology.axioms(AxiomType.ANNOTATION_ASSERTION)
-                .filter(axiom -> axiom.getAnnotation().getProperty().isLabel())
-                .filter(axiom -> axiom.getValue().equals(rigid))
-                .findAny().isPresent();
+        containsRigidNames = !rigidIRIs.isEmpty();
+
+        // No axioms are added to the object axioms map after this point.
+        objectAxiomsMap = Collections.unmodifiableMap(objectAxiomsMap);
+
+        // Index the object signature and the abstracted meta concepts.
+        objectSignature = Collections.unmodifiableSet(Stream.concat(
+                objectAxiomsMap.values().stream(),
+                globalObjectAxioms.stream())
+                .flatMap(HasSignature::signature)
+                .collect(Collectors.toSet()));
+        objectLevelIRIs = objectSignature.stream()
+                .map(HasIRI::getIRI)
+                .filter(iri -> !(dataFactory.getOWLThing().getIRI().equals(iri)
+                        || dataFactory.getOWLNothing().getIRI().equals(iri)
+                        || dataFactory.getOWLBottomObjectProperty().getIRI().equals(iri)
+                        || dataFactory.getOWLTopObjectProperty().getIRI().equals(iri)))
+                .collect(Collectors.toSet());
+        iriIsObjectLevel = objectLevelIRIs::contains;
+        metaConceptsById = objectAxiomsMap.keySet().stream().sorted().collect(Collectors.toList());
+        metaConceptIds = new HashMap<>();
+        for (int id = 0; id < metaConceptsById.size(); id++) {
+            metaConceptIds.put(metaConceptsById.get(id), id);
+        }
+
+        // Split the object signature into rigid and flexible names.
+        List<IRI> objectLevelIRIsInSignature = rootOntology.signature()
+                .map(HasIRI::getIRI)
+                .filter(iriIsObjectLevel)
+                .collect(Collectors.toList());
+        rigidClasses = namesInSignature(objectLevelIRIsInSignature,
+                iriIsRigid.and(iriIsOWLClass), dataFactory::getOWLClass);
+        rigidObjectProperties = namesInSignature(objectLevelIRIsInSignature,
+                iriIsRigid.and(iriIsOWLObjectProperty), dataFactory::getOWLObjectProperty);
+        flexibleClasses = namesInSignature(objectLevelIRIsInSignature,
+                iriIsRigid.negate().and(iriIsOWLClass), dataFactory::getOWLClass);
+        flexibleObjectProperties = namesInSignature(objectLevelIRIsInSignature,
+                iriIsRigid.negate().and(iriIsOWLObjectProperty), dataFactory::getOWLObjectProperty);
+    }
+
+    private static <T extends OWLEntity> List<T> namesInSignature(List<IRI> signature,
+                                                                  Predicate<IRI> filter,
+                                                                  Function<IRI, T> toEntity) {
+
+        return Collections.unmodifiableList(signature.stream()
+                .filter(filter)
+                .map(toEntity)
+                .collect(Collectors.toList()));
     }
 
     public ContextOntology(OWLOntology rootOntology) {
@@ -155,9 +244,86 @@ public class ContextOntology {
 
     public void clear() {
         ontologyManager.removeOntology(metaOntology);
+        if (ownsRootOntology) {
+            ontologyManager.removeOntology(rootOntology);
+        }
+        objectOntologyManager.clearOntologies();
+        releaseCaches();
         //TODO probably more to do here
 
-        System.out.println("ContextOntology cleared.");
+        if (configuration.debugOutput() > 0) {
+            System.out.println("ContextOntology cleared.");
+        }
+    }
+
+    /**
+     * This method returns the context ontology of the root ontology with the given axiom changes applied. Neither the
+     * root ontology nor this context ontology is changed; the changes are applied to a copy of the root ontology,
+     * which is removed from the ontology manager by <code>clear()</code> of the returned context ontology. The changes
+     * refer to the ontology that this context ontology was created for, also if it is itself the result of earlier
+     * changes.
+     *
+     * @param changes Axiom changes of the root ontology.
+     * @return The context ontology of the changed root ontology, with the same configuration.
+     * @throws ContextOntologyException if a change does not add or remove an axiom of the root ontology.
+     */
+    public ContextOntology applyChanges(List<? extends OWLOntologyChange> changes) {
+
+        if (changes.stream().anyMatch(change -> change.getOntology() != sourceOntology || !change.isAxiomChange())) {
+            throw new ContextOntologyException("\nOnly axiom changes of the root ontology can be applied.");
+        }
+        Set<OWLAxiom> axioms = rootOntology.axioms().collect(Collectors.toSet());
+        for (OWLOntologyChange change : changes) {
+            if (change.isAddAxiom()) {
+                axioms.add(change.getAxiom());
+            } else {
+                axioms.remove(change.getAxiom());
+            }
+        }
+
+        ContextOntology changedContextOntology = copyWith(axioms);
+        changedContextOntology.sourceOntology = sourceOntology;
+        return changedContextOntology;
+    }
+
+    /**
+     * This method returns the context ontology of the root ontology extended by further meta axioms. The root
+     * ontology is not changed; the axioms are added to a copy of it with the same document format, which is removed
+     * from the ontology manager by <code>clear()</code> of the returned context ontology.
+     *
+     * @param metaAxioms Meta axioms.
+     * @return The context ontology of the extended root ontology, with the same configuration.
+     * @throws ContextOntologyException if the copy of the root ontology cannot be created.
+     */
+    public ContextOntology extendedBy(Stream<OWLAxiom> metaAxioms) {
+
+        return copyWith(Stream.concat(rootOntology.axioms(), metaAxioms).collect(Collectors.toSet()));
+    }
+
+    /**
+     * @return The context ontology of a copy of the root ontology with the given axioms, which owns the copy.
+     */
+    private ContextOntology copyWith(Set<OWLAxiom> axioms) {
+
+        try {
+            OWLOntology copiedRootOntology = ontologyManager.createOntology(axioms);
+            // The prefixes of the document format are used to render the axioms of the copied context ontology.
+            ontologyManager.setOntologyFormat(copiedRootOntology, ontologyManager.getOntologyFormat(rootOntology));
+
+            try {
+                ContextOntology copiedOntology = new ContextOntology(copiedRootOntology, configuration);
+                copiedOntology.ownsRootOntology = true;
+                return copiedOntology;
+            } catch (RuntimeException e) {
+                ontologyManager.removeOntology(copiedRootOntology);
+                throw e;
+            }
+
+        } catch (OWLOntologyCreationException e) {
+            e.printStackTrace();
+            throw new ContextOntologyException(
+                    "\nCould not construct copy of the root ontology.");
+        }
     }
 
     /**
@@ -165,18 +331,37 @@ public class ContextOntology {
      */
     private void generateMetaOntology() {
 
+        //TODO hier auch wieder die Frage: metaOntology 1x im Constructor erzeugen und speichern oder Methode die Stream zurück gibt?
+        metaOntology = generateMetaOntology(rootOntology);
+        //TODO doch keine metaOntologyIRI, falls man von einer rootOntology mehrere ContextOntologies erzeugt,
+        // erzeugt man hier einen Fehler, da die metaOntology anscheinend schon existiert
+        //IRI.create(rootOntology.getOntologyID().getOntologyIRI().orElse(IRI.create("")) + "_meta"));
+    }
+
+    /**
+     * This method generates the meta ontology of a root ontology without dual and repletion axioms, i.e. the ontology
+     * of the logical axioms that are neither object axioms nor global object axioms. It is the first step of the
+     * construction of a context ontology, and it is public s.t. it can be measured on its own.
+     *
+     * @param rootOntology The correctly annotated root ontology.
+     * @return The meta ontology, which is created by the ontology manager of the root ontology.
+     * @throws ContextOntologyException if the meta ontology cannot be created.
+     */
+    public static OWLOntology generateMetaOntology(OWLOntology rootOntology) {
+
+        OWLDataFactory dataFactory = rootOntology.getOWLOntologyManager().getOWLDataFactory();
+        OWLAnnotationProperty isDefinedBy = dataFactory.getRDFSIsDefinedBy();
+        OWLAnnotationProperty label = dataFactory.getRDFSLabel();
+        OWLLiteral objectGlobal = dataFactory.getOWLLiteral("objectGlobal");
+
         try {
-            //TODO hier auch wieder die Frage: metaOntology 1x im Constructor erzeugen und speichern oder Methode die Stream zurück gibt?
-            metaOntology = ontologyManager.createOntology(rootOntology.axioms()
+            return rootOntology.getOWLOntologyManager().createOntology(rootOntology.axioms()
                     .filter(owlAxiom -> owlAxiom.isOfType(AxiomType.LOGICAL_AXIOM_TYPES))
                     .filter(owlAxiom -> owlAxiom.annotations(isDefinedBy).count() == 0)
                     .filter(owlAxiom -> owlAxiom.annotations(label)
                             .filter(owlAnnotation -> owlAnnotation.getValue().equals(objectGlobal))
                             .count() == 0)
                     .collect(Collectors.toSet()));
-            //TODO doch keine metaOntologyIRI, falls man von einer rootOntology mehrere ContextOntologies erzeugt,
-            // erzeugt man hier einen Fehler, da die metaOntology anscheinend schon existiert
-            //IRI.create(rootOntology.getOntologyID().getOntologyIRI().orElse(IRI.create("")) + "_meta"));
 
         } catch (OWLOntologyCreationException e) {
             e.printStackTrace();
@@ -207,11 +392,12 @@ public class ContextOntology {
                                 dataFactory.getOWLNothing())));
 
         // Step 2: Add negated Axioms to objectAxiomMap
+        objectAxiomsMap.keySet().forEach(owlClass -> originalOfDualClass.putIfAbsent(getDualClass(owlClass), owlClass));
         objectAxiomsMap.putAll(objectAxiomsMap.entrySet().stream()
                 .map(owlClassOWLAxiomEntry -> owlClassOWLAxiomEntry)
                 .collect(Collectors.toMap(
                         entry -> getDualClass(entry.getKey()),
-                        entry -> entry.getValue().accept(new AxiomNegator(dataFactory)))));
+                        entry -> negatedObjectAxiom(entry.getKey()))));
     }
 
     /**
@@ -221,40 +407,52 @@ public class ContextOntology {
     private void addDualAxiomsToMetaOntology() {
 
         // Step 1: Add negated Axioms to objectAxiomMap
+        objectAxiomsMap.keySet().forEach(owlClass -> originalOfDualClass.putIfAbsent(getDualClass(owlClass), owlClass));
         objectAxiomsMap.putAll(objectAxiomsMap.entrySet().stream()
                 .map(owlClassOWLAxiomEntry -> owlClassOWLAxiomEntry)
                 .collect(Collectors.toMap(
                         entry -> getDualClass(entry.getKey()),
-                        entry -> entry.getValue().accept(new AxiomNegator(dataFactory)))));
+                        entry -> negatedObjectAxiom(entry.getKey()))));
 
         // Step 2: Add dual axioms to meta ontology
-        ontologyManager.addAxioms(metaOntology, metaOntology.axioms()
-                // TODO Does it do what I think it does???
+        LinearDualizer linearDualizer = new LinearDualizer(dataFactory, objectAxiomsMap.keySet());
+        List<OWLAxiom> dualAxioms = metaOntology.axioms()
                 // only consider axioms that contain abstracted meta concepts
                 .filter(owlAxiom -> owlAxiom.classesInSignature().anyMatch(classIsAbstractedMetaConcept))
-                // map each axiom to a set of axioms, each constructed by replacing a subset of the abstracted concepts
-                // with its dual concept.
-                .flatMap(owlAxiom ->
-                        Powerset.powerset(owlAxiom
-                                .classesInSignature()
-                                .filter(classIsAbstractedMetaConcept)
-                                .collect(Collectors.toCollection(LinkedList::new)))
-                                // filter out the empty set, since that doesn't change the axiom; and the original
-                                // axiom is already in the meta ontology
-                                .filter(set -> !set.isEmpty())
-                                .map(conceptsToChange -> owlAxiom.accept(new AxiomToDual(dataFactory, conceptsToChange)))));
+                .flatMap(owlAxiom -> configuration.useLinearDualization() ?
+                        linearDualizer.dualize(owlAxiom)
+                                .map(List::stream)
+                                .orElseGet(() -> powersetOfDualAxioms(owlAxiom)) :
+                        powersetOfDualAxioms(owlAxiom))
+                .collect(Collectors.toList());
+        ontologyManager.addAxioms(metaOntology, dualAxioms.stream());
 
     }
 
-    private OWLOntology asOntology(OWLAxiom owlAxiom) {
+    /**
+     * This method maps an axiom to a set of axioms, each constructed by replacing a non-empty subset of the abstracted
+     * meta concepts with its dual concept.
+     *
+     * @param owlAxiom A meta axiom.
+     * @return The 2^k - 1 dual axioms, where k is the number of abstracted meta concepts in the axiom.
+     */
+    private Stream<OWLAxiom> powersetOfDualAxioms(OWLAxiom owlAxiom) {
 
-        try {
-            return ontologyManager.createOntology(Stream.of(owlAxiom));
-        } catch (OWLOntologyCreationException e) {
-            e.printStackTrace();
-            throw new ContextOntologyException(
-                    "\nCould not construct ontology out of axiom.");
+        LinkedList<OWLClass> abstractedMetaConcepts = owlAxiom
+                .classesInSignature()
+                .filter(classIsAbstractedMetaConcept)
+                .collect(Collectors.toCollection(LinkedList::new));
+
+        if (abstractedMetaConcepts.size() > Powerset.MAXIMAL_SIZE) {
+            throw new ContextOntologyException("\nCannot dualize axiom " + owlAxiom + " since it contains more than " +
+                    Powerset.MAXIMAL_SIZE + " abstracted meta concepts.");
         }
+
+        return Powerset.powerset(abstractedMetaConcepts)
+                // filter out the empty set, since that doesn't change the axiom; and the original
+                // axiom is already in the meta ontology
+                .filter(set -> !set.isEmpty())
+                .map(conceptsToChange -> owlAxiom.accept(new AxiomToDual(dataFactory, conceptsToChange)));
     }
 
     /**
@@ -283,13 +481,7 @@ public class ContextOntology {
     }
 
     public Stream<OWLEntity> objectSignature() {
-        // TODO Wenn object names öfter in objectAxiomMap vorkommen, stehen sie auch öfters in objectSignature. Eigentlich doof, aber ist uns das egal?
-        return Stream.concat(
-                objectAxiomsMap.entrySet().stream()
-                        .map(Map.Entry::getValue)
-                        .flatMap(HasSignature::signature),
-                globalObjectOntology().flatMap(HasSignature::signature)
-        );
+        return objectSignature.stream();
     }
 
     public Stream<OWLClass> classesInObjectSignature() {
@@ -304,38 +496,20 @@ public class ContextOntology {
                 .map(dataFactory::getOWLObjectProperty);
     }
 
-
-    // todo das ist 4 mal fast der gleiche Code. Kann man das nicht irgendwie abkürzen? Mit Collectors.groupingBy?
     public Stream<OWLClass> rigidClasses() {
-        return rootOntology
-                .signature()
-                .map(HasIRI::getIRI)
-                .filter(iriIsObjectLevel.and(iriIsRigid).and(iriIsOWLClass))
-                .map(dataFactory::getOWLClass);
+        return rigidClasses.stream();
     }
 
     public Stream<OWLObjectProperty> rigidObjectProperties() {
-        return rootOntology
-                .signature()
-                .map(HasIRI::getIRI)
-                .filter(iriIsObjectLevel.and(iriIsRigid).and(iriIsOWLObjectProperty))
-                .map(dataFactory::getOWLObjectProperty);
+        return rigidObjectProperties.stream();
     }
 
     public Stream<OWLClass> flexibleClasses() {
-        return rootOntology
-                .signature()
-                .map(HasIRI::getIRI)
-                .filter(iriIsObjectLevel.and(iriIsRigid.negate()).and(iriIsOWLClass))
-                .map(dataFactory::getOWLClass);
+        return flexibleClasses.stream();
     }
 
     public Stream<OWLObjectProperty> flexibleObjectProperties() {
-        return rootOntology
-                .signature()
-                .map(HasIRI::getIRI)
-                .filter(iriIsObjectLevel.and(iriIsRigid.negate()).and(iriIsOWLObjectProperty))
-                .map(dataFactory::getOWLObjectProperty);
+        return flexibleObjectProperties.stream();
     }
 
     public Stream<OWLEntity> flexibleNames() {
@@ -365,22 +539,53 @@ public class ContextOntology {
         return objectAxiomsMap.keySet().stream();
     }
 
+    /**
+     * This method checks whether a class is an abstracted meta concept, i.e. whether it identifies an object axiom.
+     *
+     * @param owlClass An OWL class.
+     * @return <code>true</code> if the class is an abstracted meta concept.
+     */
+    public boolean isAbstractedMetaConcept(OWLClass owlClass) {
+
+        return metaConceptIds.containsKey(owlClass);
+    }
+
+    /**
+     * Abstracted meta concepts are numbered densely from 0 to <code>numberOfMetaConcepts() - 1</code>. The numbering
+     * is fixed for the lifetime of the context ontology, hence the IDs can be used as indices of arrays and bit sets.
+     *
+     * @param owlClass An OWL class.
+     * @return The ID of the abstracted meta concept, or -1 if the class is not an abstracted meta concept.
+     */
+    public int metaConceptId(OWLClass owlClass) {
+
+        return metaConceptIds.getOrDefault(owlClass, -1);
+    }
+
+    /**
+     * @param id The ID of an abstracted meta concept.
+     * @return The abstracted meta concept with the given ID.
+     */
+    public OWLClass metaConceptOfId(int id) {
+
+        return metaConceptsById.get(id);
+    }
+
+    /**
+     * @return The number of abstracted meta concepts.
+     */
+    public int numberOfMetaConcepts() {
+
+        return metaConceptsById.size();
+    }
+
     /**
      * This method obtains all global object axioms.
      *
      * @return Stream of OWL axioms that must hold in every context.
      */
     public Stream<OWLAxiom> globalObjectOntology() {
-        // TODO sehr gefährlich, rootOntology wird nicht in der contextOntology gespeichert, wenn später darauf-
-        // zugegriffen wird, könnte sie von außen schon geändert wurden sein.
-        return rootOntology.axioms()
-                // consider only logical axioms
-                .filter(owlAxiom -> owlAxiom.isOfType(AxiomType.LOGICAL_AXIOM_TYPES))
-                // consider only axioms that are labelled with 'global'
-                .filter(owlAxiom -> owlAxiom.annotations(label)
-                        .filter(owlAnnotation -> owlAnnotation.getValue().equals(objectGlobal))
-                        .count() > 0)
-                .map(owlAxiom -> (OWLAxiom) owlAxiom.getAxiomWithoutAnnotations());
+        return globalObjectAxioms.stream();
     }
 
     /**
@@ -405,15 +610,14 @@ public class ContextOntology {
         try {
 
             //create the object ontology
-            return ontologyManager.createOntology(Stream.of(
+            return objectOntologyManager.createOntology(Stream.of(
                     globalObjectOntology(),
                     positiveMetaClasses
                             .filter(classIsAbstractedMetaConcept)
                             .map(objectAxiomsMap::get),
                     negativeMetaClasses
                             .filter(classIsAbstractedMetaConcept)
-                            .map(objectAxiomsMap::get)
-                            .map(axiom -> axiom.accept(new AxiomNegator(dataFactory))))
+                            .map(this::negatedObjectAxiom))
                     .flatMap(Function.identity()));
 
         } catch (OWLOntologyCreationException e) {
@@ -438,30 +642,30 @@ public class ContextOntology {
 
         if (containsRigidNames()) {
 
-            try {
-                OWLOntology objectOntology = ontologyManager.createOntology();
-
-//                IntStream.range(0, restrictedTypes.size()).forEach(idx -> {
-//                    OWLOntology ontologyToBeRenamed = getObjectOntologyForSingleType(restrictedTypes.get(idx));
-//                    AxiomRenamer renamer = new AxiomRenamer(ontologyToBeRenamed);
-//                    renamer.rename(flexibleNames().collect(Collectors.toSet()), idx);
-//                    objectOntology.addAxioms(ontologyToBeRenamed.axioms().collect(Collectors.toSet()));
-//                });
+            AxiomRenamer renamer = axiomRenamer;
+            if (renamer == null) {
+                renamer = new AxiomRenamer(ontologyManager, flexibleNames().collect(Collectors.toSet()));
+                axiomRenamer = renamer;
+            }
 
-                // TODO for-loop only for easier debugging, renaming takes ages :(
+            try {
+                // Each axiom is renamed in a single pass and added to the combined object ontology directly.
+                long start = System.nanoTime();
+                List<OWLAxiom> axioms = new ArrayList<>();
                 for (int idx = 0; idx < restrictedTypes.size(); idx++) {
-                    OWLOntology ontologyToBeRenamed = getObjectOntologyForSingleType(restrictedTypes.get(idx));
-                    AxiomRenamer renamer = new AxiomRenamer(ontologyToBeRenamed);
-                    renamer.rename(flexibleNames().collect(Collectors.toSet()), idx);
-                    objectOntology.addAxioms(ontologyToBeRenamed.axioms().collect(Collectors.toSet()));
+                    renamer.renameAxioms(Stream.concat(
+                            globalObjectOntology(),
+                            objectAxiomsOfWorld(restrictedTypes.get(idx))), idx)
+                            .forEach(axioms::add);
                 }
+                metrics.stop(ReasoningMetrics.Phase.RENAMING, start);
 
-                return objectOntology;
+                return objectOntologyManager.createOntology(axioms.stream());
             } catch (OWLOntologyCreationException e) {
 
                 e.printStackTrace();
             }
-            throw new RuntimeException("rigid names not implemented yet!");
+            throw new ContextOntologyException("\nCould not construct object ontology for rigid names.");
         } else {
             // no rigid names
 
@@ -482,19 +686,129 @@ public class ContextOntology {
         }
     }
 
+    /**
+     * This method returns the object axioms that are induced by a restricted type, i.e. the object axioms of its
+     * positive meta concepts and the negated object axioms of its negative meta concepts. Global object axioms are
+     * not included.
+     *
+     * @param restrictedType A restricted type.
+     * @return Stream of the object axioms induced by the type.
+     */
+    public Stream<OWLAxiom> objectAxiomsOfType(RestrictedType restrictedType) {
+
+        return Stream.concat(
+                restrictedType.positiveConcepts()
+                        .filter(classIsAbstractedMetaConcept)
+                        .map(objectAxiomsMap::get),
+                restrictedType.negativeConcepts()
+                        .filter(classIsAbstractedMetaConcept)
+                        .map(this::negatedObjectAxiom));
+    }
+
+    /**
+     * This method returns the object axioms of a single world of the combined object ontology for rigid names. In
+     * contrast to <code>objectAxiomsOfType</code>, every negated object axiom is negated afresh, s.t. each world
+     * has its own anonymous individuals. The renaming does not change anonymous individuals, hence shared ones would
+     * force the worlds to agree on the rigid names of their witnesses.
+     *
+     * @param restrictedType The restricted type of the world.
+     * @return Stream of the object axioms induced by the type.
+     */
+    private Stream<OWLAxiom> objectAxiomsOfWorld(RestrictedType restrictedType) {
+
+        return Stream.concat(
+                restrictedType.positiveConcepts()
+                        .filter(classIsAbstractedMetaConcept)
+                        .map(owlClass -> objectAxiomOfWorld(owlClass, true)),
+                restrictedType.negativeConcepts()
+                        .filter(classIsAbstractedMetaConcept)
+                        .map(owlClass -> objectAxiomOfWorld(owlClass, false)));
+    }
+
+    private OWLAxiom objectAxiomOfWorld(OWLClass metaConcept, boolean isPositive) {
+
+        // A dual class stands for the negation of the object axiom of its original class.
+        OWLClass originalClass = originalOfDualClass.get(metaConcept);
+        if (originalClass != null) {
+            return objectAxiomOfWorld(originalClass, !isPositive);
+        }
+        return isPositive ?
+                objectAxiomsMap.get(metaConcept) :
+                objectAxiomsMap.get(metaConcept).accept(axiomNegator);
+    }
+
+    /**
+     * This method returns the object axiom of an abstracted meta concept, i.e. the axiom that holds in a context if
+     * the meta concept does.
+     *
+     * @param metaConcept An OWL class.
+     * @return The object axiom, or Optional.empty() if the class is not an abstracted meta concept.
+     */
+    public Optional<OWLAxiom> objectAxiomOf(OWLClass metaConcept) {
+
+        return Optional.ofNullable(objectAxiomsMap.get(metaConcept));
+    }
+
+    /**
+     * This method returns the object axiom that a meta concept refers to without negating it. For a dual class, this
+     * is the object axiom of its original class, and the dual class holds iff that axiom does not hold. In contrast
+     * to the negated axiom, this axiom does not contain fresh individuals, hence it is equal for every context
+     * ontology of the same root ontology.
+     *
+     * @param metaConcept An OWL class.
+     * @return The object axiom of the original class, or Optional.empty() if the class is not an abstracted meta
+     * concept.
+     */
+    public Optional<OWLAxiom> originalObjectAxiomOf(OWLClass metaConcept) {
+
+        if (!isAbstractedMetaConcept(metaConcept)) {
+            return Optional.empty();
+        }
+        OWLClass originalClass = metaConcept;
+        while (originalOfDualClass.containsKey(originalClass)) {
+            originalClass = originalOfDualClass.get(originalClass);
+        }
+        return Optional.ofNullable(objectAxiomsMap.get(originalClass));
+    }
+
+    /**
+     * @param metaConcept An abstracted meta concept.
+     * @return <code>true</code> if the meta concept holds iff the axiom of <code>originalObjectAxiomOf</code> does
+     * not hold, i.e. if it is the dual class of a class, possibly via several dual classes.
+     */
+    public boolean isNegatedMetaConcept(OWLClass metaConcept) {
+
+        boolean isNegated = false;
+        OWLClass originalClass = metaConcept;
+        while (originalOfDualClass.containsKey(originalClass)) {
+            originalClass = originalOfDualClass.get(originalClass);
+            isNegated = !isNegated;
+        }
+        return isNegated;
+    }
+
+    /**
+     * This method returns the negated object axiom of an abstracted meta concept. Each object axiom is negated only
+     * once, when it is first needed, s.t. all object ontologies contain the same negated axiom, including the same
+     * fresh individual. Object axioms that never occur negatively are never negated; hence, axioms that cannot be
+     * negated only fail if they are needed. This is only sound for object ontologies of a single world, see
+     * <code>objectAxiomsOfWorld</code>.
+     *
+     * @param metaConcept An abstracted meta concept.
+     * @return The negation of the object axiom of the meta concept.
+     */
+    private OWLAxiom negatedObjectAxiom(OWLClass metaConcept) {
+
+        return negatedObjectAxiomsMap.computeIfAbsent(metaConcept,
+                owlClass -> objectAxiomsMap.get(owlClass).accept(axiomNegator));
+    }
+
     private OWLOntology getObjectOntologyForSingleType(RestrictedType restrictedType) {
 
         try {
-            return ontologyManager.createOntology(Stream.of(
+            return objectOntologyManager.createOntology(Stream.concat(
                     globalObjectOntology(),
-                    restrictedType.positiveConcepts()
-                            .filter(classIsAbstractedMetaConcept)
-                            .map(objectAxiomsMap::get),
-                    restrictedType.negativeConcepts()
-                            .filter(classIsAbstractedMetaConcept)
-                            .map(objectAxiomsMap::get)
-                            .map(axiom -> axiom.accept(new AxiomNegator(dataFactory))))
-                    .flatMap(Function.identity()));
+                    objectAxiomsOfType(restrictedType)));
 
         } catch (OWLOntologyCreationException e) {
 
@@ -504,6 +818,28 @@ public class ContextOntology {
         return null;
     }
 
+    /**
+     * This method releases an object ontology that was obtained by one of the <code>getObjectOntology</code>
+     * methods. Object ontologies are kept in a separate ontology manager and stay there until they are released.
+     *
+     * @param objectOntology An object ontology that is not needed anymore.
+     */
+    public void releaseObjectOntology(OWLOntology objectOntology) {
+
+        if (objectOntology != null) {
+            objectOntologyManager.removeOntology(objectOntology);
+        }
+    }
+
+    /**
+     * This method releases data that is only kept to speed up the construction of object ontologies. It is rebuilt
+     * when it is needed again.
+     */
+    public void releaseCaches() {
+
+        axiomRenamer = null;
+    }
+
     /**
      * @return The OWL data factory of the ontology manager that was used to create the context.
      */
@@ -517,6 +853,22 @@ public class ContextOntology {
         return configuration;
     }
 
+    /**
+     * @return The converter of HermiT's concepts, which is shared by all tableaux of this context ontology.
+     */
+    public ConceptConverter getConceptConverter() {
+
+        return conceptConverter;
+    }
+
+    /**
+     * @return The metrics of the construction of this context ontology and of the reasoning about it.
+     */
+    public ReasoningMetrics getMetrics() {
+
+        return metrics;
+    }
+
     public String getStatistics() {
 
         StringBuilder builder = new StringBuilder();
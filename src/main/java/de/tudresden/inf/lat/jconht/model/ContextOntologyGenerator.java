@@ -0,0 +1,261 @@
+package de.tudresden.inf.lat.jconht.model;
+
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
+import org.semanticweb.owlapi.model.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class generates random context ontologies of a given size, e.g. for stress tests and benchmarks.
+ * <p>
+ * The axioms are built with the string syntax of <code>AxiomBuilder</code>. A generated context ontology consists of
+ * <ul>
+ * <li>one object axiom per meta concept, annotated with <code>rdfs:isDefinedBy</code>,</li>
+ * <li>global object axioms, labelled with <code>objectGlobal</code>,</li>
+ * <li>meta axioms, i.e. GCIs over the meta concepts and assertions about the context individuals,</li>
+ * <li>rigid object concepts and roles, labelled with <code>rigid</code>.</li>
+ * </ul>
+ * The disjunction density is the probability that a generated concept is a disjunction. Equal seeds and sizes yield
+ * equal ontologies.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class ContextOntologyGenerator {
+
+    private final OWLOntologyManager ontologyManager;
+    private final OWLDataFactory dataFactory;
+    private final String prefix;
+    private final AxiomBuilder builder;
+    private long seed = 0;
+    private int numberOfMetaConcepts = 10;
+    private int numberOfMetaAxioms = 10;
+    private int numberOfContextIndividuals = 2;
+    private int numberOfObjectConcepts = 10;
+    private int numberOfObjectRoles = 2;
+    private int numberOfObjectIndividuals = 2;
+    private int numberOfGlobalAxioms = 5;
+    private int numberOfRigidConcepts = 0;
+    private int numberOfRigidRoles = 0;
+    private double disjunctionDensity = 0.2;
+
+    private Random random;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param ontologyManager The manager in which the ontologies are created.
+     * @param prefix          The prefix of all generated names, e.g. <code>http://www.example.org/ontology#</code>.
+     */
+    public ContextOntologyGenerator(OWLOntologyManager ontologyManager, String prefix) {
+
+        this.ontologyManager = ontologyManager;
+        this.dataFactory = ontologyManager.getOWLDataFactory();
+        this.prefix = prefix;
+        this.builder = new AxiomBuilder(dataFactory, prefix, prefix, prefix);
+    }
+
+    public ContextOntologyGenerator(OWLOntologyManager ontologyManager) {
+
+        this(ontologyManager, "http://www.rosi-project.org/ontologies/generated#");
+    }
+
+    public ContextOntologyGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfMetaConcepts(int numberOfMetaConcepts) {
+        this.numberOfMetaConcepts = numberOfMetaConcepts;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfMetaAxioms(int numberOfMetaAxioms) {
+        this.numberOfMetaAxioms = numberOfMetaAxioms;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfContextIndividuals(int numberOfContextIndividuals) {
+        this.numberOfContextIndividuals = numberOfContextIndividuals;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfObjectConcepts(int numberOfObjectConcepts) {
+        this.numberOfObjectConcepts = numberOfObjectConcepts;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfObjectRoles(int numberOfObjectRoles) {
+        this.numberOfObjectRoles = numberOfObjectRoles;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfObjectIndividuals(int numberOfObjectIndividuals) {
+        this.numberOfObjectIndividuals = numberOfObjectIndividuals;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfGlobalAxioms(int numberOfGlobalAxioms) {
+        this.numberOfGlobalAxioms = numberOfGlobalAxioms;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfRigidConcepts(int numberOfRigidConcepts) {
+        this.numberOfRigidConcepts = numberOfRigidConcepts;
+        return this;
+    }
+
+    public ContextOntologyGenerator setNumberOfRigidRoles(int numberOfRigidRoles) {
+        this.numberOfRigidRoles = numberOfRigidRoles;
+        return this;
+    }
+
+    /**
+     * Sets the probability that a generated concept is a disjunction.
+     *
+     * @param disjunctionDensity a probability between 0 and 1.
+     * @return this generator.
+     */
+    public ContextOntologyGenerator setDisjunctionDensity(double disjunctionDensity) {
+        this.disjunctionDensity = disjunctionDensity;
+        return this;
+    }
+
+    /**
+     * This method generates a context ontology with the current settings.
+     *
+     * @return The generated ontology, which is contained in the ontology manager of this generator.
+     * @throws OWLOntologyCreationException if the ontology cannot be created.
+     */
+    public OWLOntology generate() throws OWLOntologyCreationException {
+
+        if (numberOfMetaConcepts < 1 || numberOfObjectConcepts < 2 || numberOfObjectRoles < 1
+                || numberOfObjectIndividuals < 1 || numberOfContextIndividuals < 1) {
+            throw new ContextOntologyException("\nA generated context ontology needs at least one meta concept, " +
+                    "two object concepts, one object role and one individual on each level.");
+        }
+        if (numberOfRigidConcepts > numberOfObjectConcepts || numberOfRigidRoles > numberOfObjectRoles) {
+            throw new ContextOntologyException("\nThere cannot be more rigid names than object names.");
+        }
+
+        random = new Random(seed);
+        List<OWLAxiom> axioms = new ArrayList<>();
+
+        // mapping of o-axioms
+        for (int i = 0; i < numberOfMetaConcepts; i++) {
+            axioms.add(builder.stringToOWLAxiom(objectAxiom() + " @ meta" + i));
+        }
+
+        // global o-axioms
+        for (int i = 0; i < numberOfGlobalAxioms; i++) {
+            axioms.add(builder.stringToOWLAxiom(objectAxiom() + " @ global"));
+        }
+
+        // meta level
+        for (int i = 0; i < numberOfContextIndividuals; i++) {
+            axioms.add(builder.stringToOWLAxiom("(" + metaConcept() + ")(c" + i + ")"));
+        }
+        for (int i = 0; i < numberOfMetaAxioms; i++) {
+            axioms.add(builder.stringToOWLAxiom(metaConcept() + " ⊑ " + metaConcept()));
+        }
+
+        // rigid names
+        for (int i = 0; i < numberOfRigidConcepts; i++) {
+            axioms.add(isRigid(IRI.create(prefix + "A" + i)));
+        }
+        for (int i = 0; i < numberOfRigidRoles; i++) {
+            axioms.add(isRigid(IRI.create(prefix + "r" + i)));
+        }
+
+        // The ontology is anonymous, since the renderer of functional syntax would otherwise replace the default
+        // prefix by the generated ontology IRI.
+        OWLOntology ontology = ontologyManager.createOntology();
+        ontologyManager.addAxioms(ontology, axioms.stream());
+        ontologyManager.getOntologyFormat(ontology).asPrefixOWLDocumentFormat().setDefaultPrefix(prefix);
+
+        return ontology;
+    }
+
+    /**
+     * This method saves a generated ontology in OWL/XML or functional syntax. Both formats keep the annotations of
+     * the axioms, which identify object axioms and global object axioms. Manchester syntax is not offered, since it
+     * cannot express annotated GCIs, i.e. the object axioms would be lost.
+     *
+     * @param ontology The ontology to be saved.
+     * @param file     The output file.
+     * @param owlXML   If <code>true</code>, OWL/XML is used, otherwise functional syntax.
+     * @throws OWLOntologyStorageException if the ontology cannot be saved.
+     */
+    public void save(OWLOntology ontology, File file, boolean owlXML) throws OWLOntologyStorageException {
+
+        PrefixDocumentFormat format = owlXML ?
+                new OWLXMLDocumentFormat() :
+                new FunctionalSyntaxDocumentFormat();
+        format.setDefaultPrefix(prefix);
+        ontologyManager.saveOntology(ontology, format, IRI.create(file));
+    }
+
+    private String objectAxiom() {
+
+        switch (random.nextInt(4)) {
+            case 0:
+                return objectConceptName() + " ⊑ " + objectConcept();
+            case 1:
+                return objectConceptName() + " ⊑ ∃" + objectRole() + ".(" + objectConcept() + ")";
+            case 2:
+                return objectConceptName() + " ⊓ " + objectConceptName() + " ⊑ ⊥";
+            default:
+                return "(" + objectConcept() + ")(a" + random.nextInt(numberOfObjectIndividuals) + ")";
+        }
+    }
+
+    private String objectConcept() {
+
+        String concept = literal(objectConceptName());
+        return random.nextDouble() < disjunctionDensity ?
+                junction(concept, " ⊔ ", literal(objectConceptName())) :
+                concept;
+    }
+
+    private String metaConcept() {
+
+        String concept = literal("meta" + random.nextInt(numberOfMetaConcepts));
+        return random.nextDouble() < disjunctionDensity ?
+                junction(concept, " ⊔ ", literal("meta" + random.nextInt(numberOfMetaConcepts))) :
+                junction(concept, " ⊓ ", literal("meta" + random.nextInt(numberOfMetaConcepts)));
+    }
+
+    /**
+     * An intersection or union of a literal with itself has only one operand, which is not preserved when the
+     * ontology is saved and loaded again. Hence, it is replaced by the literal.
+     */
+    private static String junction(String literal, String operator, String otherLiteral) {
+
+        return literal.equals(otherLiteral) ? literal : literal + operator + otherLiteral;
+    }
+
+    private String objectConceptName() {
+
+        return "A" + random.nextInt(numberOfObjectConcepts);
+    }
+
+    private String objectRole() {
+
+        return "r" + random.nextInt(numberOfObjectRoles);
+    }
+
+    private String literal(String name) {
+
+        return random.nextBoolean() ? name : "¬" + name;
+    }
+
+    private OWLAxiom isRigid(IRI iri) {
+
+        return dataFactory.getOWLAnnotationAssertionAxiom(iri, dataFactory.getRDFSLabel("rigid"));
+    }
+}
@@ -0,0 +1,204 @@
+package de.tudresden.inf.lat.jconht.model;
+
+import org.semanticweb.owlapi.model.*;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class computes the dual axioms of a meta axiom with an encoding of linear size.
+ * <p>
+ * The eager dualization adds a copy of an axiom for every non-empty set of its abstracted meta concepts A, in which
+ * A is replaced by ¬A*. If an abstracted meta concept occurs only on the Boolean level of the axiom, i.e. not below a
+ * restriction, and only with one polarity, then the copies that differ only in this meta concept are equivalent to a
+ * single axiom: a positive occurrence of A is replaced by A ⊓ ¬A*, a negative occurrence by A ⊔ ¬A*. For example, the
+ * copies A ⊑ C and ¬A* ⊑ C are equivalent to A ⊔ ¬A* ⊑ C.
+ * <p>
+ * The other abstracted meta concepts of an axiom, i.e. those below a restriction or with both polarities, are still
+ * dualized by the powerset expansion. For example, the copies C ⊑ ∃r.A and C ⊑ ∃r.¬A* are not equivalent to
+ * C ⊑ ∃r.(A ⊓ ¬A*), and an auxiliary name cannot express that the axiom holds for both choices, because fresh names
+ * are existentially quantified. Hence, an axiom yields 2^k dual axioms, where k is the number of these meta concepts
+ * only, and at most <code>Powerset.MAXIMAL_SIZE</code> of them are supported.
+ * <p>
+ * Equivalence and disjointness axioms as well as domain axioms are split into subclass axioms first.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class LinearDualizer {
+
+    private final OWLDataFactory dataFactory;
+    private final Predicate<OWLClass> classIsAbstractedMetaConcept;
+    private final ConceptToDual conceptToDual;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param dataFactory                  The OWL data factory.
+     * @param abstractedMetaConcepts       The abstracted meta concepts that are dualized.
+     */
+    public LinearDualizer(OWLDataFactory dataFactory, Set<OWLClass> abstractedMetaConcepts) {
+
+        this.dataFactory = dataFactory;
+        this.classIsAbstractedMetaConcept = abstractedMetaConcepts::contains;
+        this.conceptToDual = new ConceptToDual(dataFactory, abstractedMetaConcepts);
+    }
+
+    /**
+     * This method computes the dual axioms of a meta axiom.
+     *
+     * @param axiom A meta axiom.
+     * @return The dual axioms, or Optional.empty() if the type of the axiom is not supported by this class.
+     * @throws ContextOntologyException if the axiom contains too many abstracted meta concepts below restrictions or
+     *                                  with both polarities.
+     */
+    public Optional<List<OWLAxiom>> dualize(OWLAxiom axiom) {
+
+        List<OWLAxiom> dualAxioms = new ArrayList<>();
+
+        if (axiom instanceof OWLClassAssertionAxiom) {
+            OWLClassAssertionAxiom assertion = (OWLClassAssertionAxiom) axiom;
+            Map<OWLClass, Boolean> polarities = new HashMap<>();
+            LinkedList<OWLClass> expandedConcepts = new LinkedList<>();
+            collectPolarities(assertion.getClassExpression(), true, polarities, expandedConcepts);
+            expand(assertion, expandedConcepts, !polarities.isEmpty())
+                    .map(OWLClassAssertionAxiom.class::cast)
+                    .forEach(expandedAssertion -> dualAxioms.add(dataFactory.getOWLClassAssertionAxiom(
+                            dualize(expandedAssertion.getClassExpression(), true, polarities.keySet()),
+                            expandedAssertion.getIndividual())));
+            return Optional.of(dualAxioms);
+        }
+
+        Collection<OWLSubClassOfAxiom> subClassOfAxioms;
+        if (axiom instanceof OWLSubClassOfAxiom) {
+            subClassOfAxioms = Collections.singletonList((OWLSubClassOfAxiom) axiom);
+        } else if (axiom instanceof OWLNaryClassAxiom) {
+            subClassOfAxioms = ((OWLNaryClassAxiom) axiom).asOWLSubClassOfAxioms();
+        } else if (axiom instanceof OWLObjectPropertyDomainAxiom) {
+            subClassOfAxioms = Collections.singletonList(((OWLObjectPropertyDomainAxiom) axiom).asOWLSubClassOfAxiom());
+        } else {
+            return Optional.empty();
+        }
+
+        for (OWLSubClassOfAxiom subClassOfAxiom : subClassOfAxioms) {
+            Map<OWLClass, Boolean> polarities = new HashMap<>();
+            LinkedList<OWLClass> expandedConcepts = new LinkedList<>();
+            collectPolarities(subClassOfAxiom.getSubClass(), false, polarities, expandedConcepts);
+            collectPolarities(subClassOfAxiom.getSuperClass(), true, polarities, expandedConcepts);
+            expand(subClassOfAxiom, expandedConcepts, !polarities.isEmpty())
+                    .map(OWLSubClassOfAxiom.class::cast)
+                    .forEach(expandedAxiom -> dualAxioms.add(dataFactory.getOWLSubClassOfAxiom(
+                            dualize(expandedAxiom.getSubClass(), false, polarities.keySet()),
+                            dualize(expandedAxiom.getSuperClass(), true, polarities.keySet()))));
+        }
+        return Optional.of(dualAxioms);
+    }
+
+    /**
+     * This method replaces every subset of the given meta concepts by their dual concepts, as the eager dualization
+     * does.
+     *
+     * @param axiom                 A subclass axiom or class assertion.
+     * @param expandedConcepts      The abstracted meta concepts that cannot be dualized with the linear encoding.
+     * @param includeOriginalAxiom  Whether the axiom itself is returned as well, i.e. the empty subset is replaced.
+     * @return The axioms with the replaced meta concepts.
+     */
+    private Stream<OWLAxiom> expand(OWLAxiom axiom, LinkedList<OWLClass> expandedConcepts,
+                                    boolean includeOriginalAxiom) {
+
+        if (expandedConcepts.size() > Powerset.MAXIMAL_SIZE) {
+            throw new ContextOntologyException("\nCannot dualize axiom " + axiom + " since it contains more than " +
+                    Powerset.MAXIMAL_SIZE + " abstracted meta concepts below restrictions or with both polarities.");
+        }
+
+        return Powerset.powerset(expandedConcepts)
+                // the original axiom is already in the meta ontology, but it has to be dualized linearly
+                .filter(set -> includeOriginalAxiom || !set.isEmpty())
+                .map(conceptsToChange -> conceptsToChange.isEmpty() ?
+                        axiom :
+                        axiom.accept(new AxiomToDual(dataFactory, conceptsToChange)));
+    }
+
+    /**
+     * This method collects the polarities of the abstracted meta concepts in a class expression.
+     *
+     * @param classExpression  A class expression.
+     * @param positive         The polarity of the class expression.
+     * @param polarities       The polarities of the meta concepts that can be dualized with the linear encoding.
+     * @param expandedConcepts The meta concepts that occur below a restriction or with both polarities.
+     */
+    private void collectPolarities(OWLClassExpression classExpression,
+                                   boolean positive,
+                                   Map<OWLClass, Boolean> polarities,
+                                   List<OWLClass> expandedConcepts) {
+
+        switch (classExpression.getClassExpressionType()) {
+            case OWL_CLASS:
+                OWLClass owlClass = classExpression.asOWLClass();
+                if (classIsAbstractedMetaConcept.test(owlClass) && !expandedConcepts.contains(owlClass)
+                        && polarities.computeIfAbsent(owlClass, c -> positive) != positive) {
+                    polarities.remove(owlClass);
+                    expandedConcepts.add(owlClass);
+                }
+                break;
+            case OBJECT_INTERSECTION_OF:
+            case OBJECT_UNION_OF:
+                ((OWLNaryBooleanClassExpression) classExpression).operands()
+                        .forEach(operand -> collectPolarities(operand, positive, polarities, expandedConcepts));
+                break;
+            case OBJECT_COMPLEMENT_OF:
+                collectPolarities(((OWLObjectComplementOf) classExpression).getOperand(), !positive,
+                        polarities, expandedConcepts);
+                break;
+            default:
+                classExpression.classesInSignature()
+                        .filter(classIsAbstractedMetaConcept)
+                        .filter(metaConcept -> !expandedConcepts.contains(metaConcept))
+                        .forEach(metaConcept -> {
+                            polarities.remove(metaConcept);
+                            expandedConcepts.add(metaConcept);
+                        });
+        }
+    }
+
+    /**
+     * This method dualizes the given meta concepts of a class expression with the linear encoding.
+     *
+     * @param classExpression A class expression, in which the given meta concepts occur only on the Boolean level.
+     * @param positive        The polarity of the class expression.
+     * @param metaConcepts    The meta concepts that are dualized.
+     * @return The dualized class expression.
+     */
+    private OWLClassExpression dualize(OWLClassExpression classExpression,
+                                       boolean positive,
+                                       Set<OWLClass> metaConcepts) {
+
+        switch (classExpression.getClassExpressionType()) {
+            case OWL_CLASS:
+                OWLClass owlClass = classExpression.asOWLClass();
+                if (!metaConcepts.contains(owlClass)) {
+                    return owlClass;
+                }
+                OWLClassExpression dual = owlClass.accept(conceptToDual);
+                return positive ?
+                        dataFactory.getOWLObjectIntersectionOf(owlClass, dual) :
+                        dataFactory.getOWLObjectUnionOf(owlClass, dual);
+            case OBJECT_INTERSECTION_OF:
+                return dataFactory.getOWLObjectIntersectionOf(((OWLObjectIntersectionOf) classExpression).operands()
+                        .map(operand -> dualize(operand, positive, metaConcepts))
+                        .collect(Collectors.toList()));
+            case OBJECT_UNION_OF:
+                return dataFactory.getOWLObjectUnionOf(((OWLObjectUnionOf) classExpression).operands()
+                        .map(operand -> dualize(operand, positive, metaConcepts))
+                        .collect(Collectors.toList()));
+            case OBJECT_COMPLEMENT_OF:
+                return dataFactory.getOWLObjectComplementOf(
+                        dualize(((OWLObjectComplementOf) classExpression).getOperand(), !positive, metaConcepts));
+            default:
+                // The given meta concepts do not occur below restrictions, see collectPolarities().
+                return classExpression;
+        }
+    }
+}
@@ -18,6 +18,11 @@ import java.util.stream.StreamSupport;
 // wird eigentlich nicht mehr verwendet und kann weg
 public class Powerset<T> implements Iterator<Powerset>, Iterable<Powerset> {
 
+    /**
+     * The maximal size of the input, since the subsets are indexed by the bits of a long.
+     */
+    public static final int MAXIMAL_SIZE = 62;
+
     private long currentIndex;
     private LinkedList<T> input;
     private Set<T> subset;
@@ -29,6 +34,10 @@ public class Powerset<T> implements Iterator<Powerset>, Iterable<Powerset> {
 
     public static <T> Stream<Powerset> powersetStream(LinkedList<T> input) {
 
+        if (input.size() > MAXIMAL_SIZE) {
+            throw new IllegalArgumentException("The powerset of more than " + MAXIMAL_SIZE + " elements cannot be enumerated.");
+        }
+
         return StreamSupport.stream(
                 new Powerset<>(input, 0).spliterator(),
                 false);
@@ -1,10 +1,9 @@
 package de.tudresden.inf.lat.jconht.model;
 
 import org.semanticweb.HermiT.tableau.ExtensionManager;
-import org.semanticweb.owlapi.model.OWLDataFactory;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static de.tudresden.inf.lat.jconht.model.TupleTableEntries.*;
 
@@ -19,10 +18,19 @@ public class PreModel {
     private List<BinaryTupleTableEntry> binEntries;
     private List<TernaryTupleTableEntry> terEntries;
 
-    public PreModel(ExtensionManager extensionManager, OWLDataFactory dataFactory) {
+    public PreModel(ExtensionManager extensionManager, ConceptConverter conceptConverter) {
 
-        binEntries = binaryTupleTableEntries(extensionManager, dataFactory).collect(Collectors.toList());
-        terEntries = ternaryTupleTableEntries(extensionManager).collect(Collectors.toList());
+        // The premodel is a copy of the extension tables, hence exactly one entry is created per tuple.
+        binEntries = new ArrayList<>();
+        BinaryTupleCursor binaryCursor = new BinaryTupleCursor(extensionManager);
+        while (binaryCursor.next()) {
+            binEntries.add(new BinaryTupleTableEntry(binaryCursor.getTupleIndex(), extensionManager, conceptConverter));
+        }
+        terEntries = new ArrayList<>();
+        TernaryTupleCursor ternaryCursor = new TernaryTupleCursor(extensionManager);
+        while (ternaryCursor.next()) {
+            terEntries.add(new TernaryTupleTableEntry(ternaryCursor.getTupleIndex(), extensionManager));
+        }
     }
 
     @Override
@@ -0,0 +1,75 @@
+package de.tudresden.inf.lat.jconht.model;
+
+import org.semanticweb.HermiT.tableau.ExtensionManager;
+import org.semanticweb.HermiT.tableau.Node;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * This class describes a premodel as a view on the live extension manager of a tableau.
+ * <p>
+ * In contrast to <code>PreModel</code>, nothing is copied when the view is created. The restricted types of the
+ * nodes are computed when they are needed for the first time, and a full <code>PreModel</code> is only materialised
+ * on demand, e.g. for debug output. A view is only valid until the tableau backtracks to the next premodel.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class PreModelView {
+
+    private final ExtensionManager extensionManager;
+    private final ConceptConverter conceptConverter;
+    private final Supplier<Map<Node, RestrictedType>> nodeTypesSupplier;
+    private Map<Node, RestrictedType> nodeTypes;
+    private PreModel preModel;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param extensionManager  The extension manager of the tableau that found the premodel.
+     * @param conceptConverter  The converter of HermiT's concepts.
+     * @param nodeTypesSupplier Computes the restricted types of the nodes from the extension manager.
+     */
+    public PreModelView(ExtensionManager extensionManager,
+                        ConceptConverter conceptConverter,
+                        Supplier<Map<Node, RestrictedType>> nodeTypesSupplier) {
+
+        this.extensionManager = extensionManager;
+        this.conceptConverter = conceptConverter;
+        this.nodeTypesSupplier = nodeTypesSupplier;
+    }
+
+    /**
+     * @return A map from nodes to their restricted types. Nodes without abstracted meta concepts are not contained.
+     */
+    public Map<Node, RestrictedType> nodeTypes() {
+
+        if (nodeTypes == null) {
+            nodeTypes = nodeTypesSupplier.get();
+        }
+        return nodeTypes;
+    }
+
+    /**
+     * @return The premodel with all entries of the extension tables copied.
+     */
+    public PreModel materialize() {
+
+        if (preModel == null) {
+            preModel = new PreModel(extensionManager, conceptConverter);
+        }
+        return preModel;
+    }
+
+    @Override
+    public String toString() {
+
+        return materialize().toString();
+    }
+
+    public String toStringWithDependencySet() {
+
+        return materialize().toStringWithDependencySet();
+    }
+}
@@ -0,0 +1,149 @@
+package de.tudresden.inf.lat.jconht.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class collects counters and timings of the construction of a context ontology and of the reasoning about it.
+ * <p>
+ * In contrast to the debug output, the metrics are cheap enough to be always collected. They can be updated by
+ * several threads at the same time, e.g. by parallel object consistency checks. Times of phases that run in parallel
+ * are summed up.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class ReasoningMetrics {
+
+    public enum Counter {
+        /** Premodels of the meta ontology that were enumerated. */
+        PREMODELS,
+        /** Backtracking steps from one premodel to the next. */
+        BACKTRACKS,
+        /** Premodels that were checked for admissibility. */
+        ADMISSIBILITY_CHECKS,
+        /** Consistency checks of object ontologies that were run by an object reasoner. */
+        OBJECT_CHECKS,
+        /** Object reasoners that were created, including object reasoning sessions. */
+        OBJECT_REASONERS,
+        /** Restricted types whose verdict was found in the type cache. */
+        TYPE_CACHE_HITS,
+        /** Restricted types whose verdict was not found in the type cache. */
+        TYPE_CACHE_MISSES,
+        /** Nogoods learned from inadmissible types. */
+        LEARNED_NOGOODS,
+        /** Premodels that were rejected without an object check, because they contain a learned nogood. */
+        NOGOOD_PRUNINGS,
+        /** Satisfiability tests of meta classes, e.g. during the classification of the meta signature. */
+        SATISFIABILITY_TESTS
+    }
+
+    public enum Phase {
+        /** Generation of the meta ontology from the root ontology. */
+        META_ONTOLOGY,
+        /** Adding the dual axioms to the meta ontology. */
+        DUALIZATION,
+        /** Adding the repletion axioms to the meta ontology. */
+        REPLETION,
+        /** Search for the next premodel by HermiT's tableau. */
+        PREMODEL_SEARCH,
+        /** Consistency checks of object ontologies. */
+        OBJECT_CHECKS,
+        /** Renaming of flexible names for context ontologies with rigid names. */
+        RENAMING
+    }
+
+    private final Map<Counter, LongAdder> counters;
+    private final Map<Phase, LongAdder> nanos;
+    private final LongAccumulator peakTableauSize;
+
+    public ReasoningMetrics() {
+
+        counters = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+        nanos = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            nanos.put(phase, new LongAdder());
+        }
+        peakTableauSize = new LongAccumulator(Math::max, 0);
+    }
+
+    public void increment(Counter counter) {
+
+        counters.get(counter).increment();
+    }
+
+    public long count(Counter counter) {
+
+        return counters.get(counter).sum();
+    }
+
+    /**
+     * This method adds the time since the given start to a phase.
+     *
+     * @param phase The phase.
+     * @param start The start of the phase as returned by <code>System.nanoTime()</code>.
+     */
+    public void stop(Phase phase, long start) {
+
+        nanos.get(phase).add(System.nanoTime() - start);
+    }
+
+    /**
+     * @param phase A phase.
+     * @param unit  The unit of the result.
+     * @return The total time spent in the phase.
+     */
+    public long time(Phase phase, TimeUnit unit) {
+
+        return unit.convert(nanos.get(phase).sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * This method records the number of nodes in the meta tableau.
+     *
+     * @param numberOfNodes The current number of nodes.
+     */
+    public void recordTableauSize(long numberOfNodes) {
+
+        peakTableauSize.accumulate(numberOfNodes);
+    }
+
+    /**
+     * @return The maximal number of nodes in the meta tableau that was recorded.
+     */
+    public long peakTableauSize() {
+
+        return peakTableauSize.get();
+    }
+
+    /**
+     * This method resets all counters and timings, e.g. to measure a single reasoning task.
+     */
+    public void reset() {
+
+        counters.values().forEach(LongAdder::reset);
+        nanos.values().forEach(LongAdder::reset);
+        peakTableauSize.reset();
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            builder.append(counter.name().toLowerCase()).append(": ").append(count(counter)).append('\n');
+        }
+        builder.append("peak_tableau_size: ").append(peakTableauSize()).append('\n');
+        for (Phase phase : Phase.values()) {
+            builder.append(phase.name().toLowerCase()).append("_ms: ")
+                    .append(time(phase, TimeUnit.MILLISECONDS)).append('\n');
+        }
+        return builder.toString();
+    }
+}
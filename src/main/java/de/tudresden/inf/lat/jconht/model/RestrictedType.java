@@ -2,23 +2,30 @@ package de.tudresden.inf.lat.jconht.model;
 
 import org.semanticweb.owlapi.model.OWLClass;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Stream;
 
 /**
- * This class ...
+ * This class describes the type of a node restricted to the abstracted meta concepts, i.e. the set of meta concepts
+ * whose object axioms must hold and the set of meta concepts whose object axioms must not hold.
+ * <p>
+ * Restricted types are immutable and compared by value, hence they can be used as keys in caches.
  *
  * @author Stephan Böhme
  * @author Marcel Lippmann
  */
 public class RestrictedType {
 
-    private Set<OWLClass> positiveConcepts;
-    private Set<OWLClass> negativeConcepts;
+    private final Set<OWLClass> positiveConcepts;
+    private final Set<OWLClass> negativeConcepts;
+    private final int hashCode;
 
     public RestrictedType(Set<OWLClass> positiveConcepts, Set<OWLClass> negativeConcepts) {
-        this.positiveConcepts = positiveConcepts;
-        this.negativeConcepts = negativeConcepts;
+        this.positiveConcepts = Collections.unmodifiableSet(new HashSet<>(positiveConcepts));
+        this.negativeConcepts = Collections.unmodifiableSet(new HashSet<>(negativeConcepts));
+        this.hashCode = 31 * this.positiveConcepts.hashCode() + this.negativeConcepts.hashCode();
     }
 
     public Stream<OWLClass> positiveConcepts() {
@@ -29,6 +36,45 @@ public class RestrictedType {
         return negativeConcepts.stream();
     }
 
+    /**
+     * This method checks whether this type is contained in another type, i.e. all its positive and negative meta
+     * concepts are also positive and negative meta concepts of the other type, respectively.
+     *
+     * @param other Another restricted type.
+     * @return <code>true</code> if this type is a subtype of the other type.
+     */
+    public boolean isSubtypeOf(RestrictedType other) {
+        return other.positiveConcepts.containsAll(positiveConcepts)
+                && other.negativeConcepts.containsAll(negativeConcepts);
+    }
+
+    public boolean containsPositive(OWLClass metaConcept) {
+        return positiveConcepts.contains(metaConcept);
+    }
+
+    public boolean containsNegative(OWLClass metaConcept) {
+        return negativeConcepts.contains(metaConcept);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RestrictedType)) {
+            return false;
+        }
+        RestrictedType other = (RestrictedType) obj;
+        return hashCode == other.hashCode
+                && positiveConcepts.equals(other.positiveConcepts)
+                && negativeConcepts.equals(other.negativeConcepts);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -16,7 +16,11 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
- * This class ...
+ * This class provides access to the entries of HermiT’s extension tables.
+ * <p>
+ * The streams of entries copy every tuple into an entry object, which is convenient for debug output and for
+ * materialised premodels. Walks on the hot path use a cursor instead, which reads the tuples directly from the
+ * extension table without allocating anything per tuple.
  *
  * @author Stephan Böhme
  * @author Marcel Lippmann
@@ -31,7 +35,18 @@ public class TupleTableEntries {
     public static Stream<BinaryTupleTableEntry> binaryTupleTableEntries(ExtensionManager extensionManager,
                                                                         OWLDataFactory dataFactory) {
 
-        return StreamSupport.stream(new BinaryTupleTableEntry(0, extensionManager, dataFactory).spliterator(), false);
+        return binaryTupleTableEntries(extensionManager, new ConceptConverter(dataFactory));
+    }
+
+    /**
+     * @return A stream of HermiT’s extension manager’s binary tuple table, whose concepts are converted by the given
+     * converter.
+     */
+    public static Stream<BinaryTupleTableEntry> binaryTupleTableEntries(ExtensionManager extensionManager,
+                                                                        ConceptConverter conceptConverter) {
+
+        return StreamSupport.stream(new BinaryTupleTableEntry(0, extensionManager, conceptConverter).spliterator(),
+                false);
     }
 
     /**
@@ -42,6 +57,168 @@ public class TupleTableEntries {
         return StreamSupport.stream(new TernaryTupleTableEntry(0, extensionManager).spliterator(), false);
     }
 
+    /**
+     * This class is a cursor over HermiT’s extension manager’s binary tuple table. The cursor is positioned before
+     * the first tuple initially, and <code>next()</code> moves it to the next tuple. The getters read the current
+     * tuple directly from the extension table.
+     */
+    public static class BinaryTupleCursor {
+
+        private final ExtensionTable extensionTable;
+        private int tupleIndex;
+
+        /**
+         * This is the standard constructor.
+         *
+         * @param extensionManager The extension manager whose binary tuple table is walked.
+         */
+        public BinaryTupleCursor(ExtensionManager extensionManager) {
+
+            this.extensionTable = extensionManager.getBinaryExtensionTable();
+            this.tupleIndex = -1;
+        }
+
+        /**
+         * This method moves the cursor to the next tuple.
+         *
+         * @return <code>true</code> if there is a next tuple.
+         */
+        public boolean next() {
+
+            tupleIndex++;
+            return extensionTable.getTupleObject(tupleIndex, 0) != null;
+        }
+
+        /**
+         * This method moves the cursor before the first tuple again, s.t. the table can be walked once more.
+         */
+        public void reset() {
+
+            tupleIndex = -1;
+        }
+
+        /**
+         * @return The tuple index of the current tuple.
+         */
+        public int getTupleIndex() {
+
+            return tupleIndex;
+        }
+
+        /**
+         * @return The concept of the current tuple.
+         */
+        public Concept getConcept() {
+
+            return (Concept) extensionTable.getTupleObject(tupleIndex, 0);
+        }
+
+        /**
+         * @return The node of the current tuple.
+         */
+        public Node getNode() {
+
+            return (Node) extensionTable.getTupleObject(tupleIndex, 1);
+        }
+
+        /**
+         * @return The dependency set of the current tuple.
+         */
+        public DependencySet getDependencySet() {
+
+            return extensionTable.getDependencySet(tupleIndex);
+        }
+    }
+
+    /**
+     * This class is a cursor over HermiT’s extension manager’s ternary tuple table. It is used like a
+     * <code>BinaryTupleCursor</code>.
+     */
+    public static class TernaryTupleCursor {
+
+        private final ExtensionTable extensionTable;
+        private int tupleIndex;
+
+        /**
+         * This is the standard constructor.
+         *
+         * @param extensionManager The extension manager whose ternary tuple table is walked.
+         */
+        public TernaryTupleCursor(ExtensionManager extensionManager) {
+
+            this.extensionTable = extensionManager.getTernaryExtensionTable();
+            this.tupleIndex = -1;
+        }
+
+        /**
+         * This method moves the cursor to the next tuple.
+         *
+         * @return <code>true</code> if there is a next tuple.
+         */
+        public boolean next() {
+
+            tupleIndex++;
+            return extensionTable.getTupleObject(tupleIndex, 0) != null;
+        }
+
+        /**
+         * This method moves the cursor before the first tuple again, s.t. the table can be walked once more.
+         */
+        public void reset() {
+
+            tupleIndex = -1;
+        }
+
+        /**
+         * @return The tuple index of the current tuple.
+         */
+        public int getTupleIndex() {
+
+            return tupleIndex;
+        }
+
+        /**
+         * @return The role of the current tuple, or <code>null</code> if the tuple is not a role assertion.
+         */
+        public Role getRole() {
+
+            Object predicate = extensionTable.getTupleObject(tupleIndex, 0);
+            return predicate instanceof Role ? (Role) predicate : null;
+        }
+
+        /**
+         * @return <code>true</code> if the current tuple is an inequality.
+         */
+        public boolean isInequality() {
+
+            return extensionTable.getTupleObject(tupleIndex, 0) instanceof Inequality;
+        }
+
+        /**
+         * @return The first node of the current tuple.
+         */
+        public Node getNodeFrom() {
+
+            return (Node) extensionTable.getTupleObject(tupleIndex, 1);
+        }
+
+        /**
+         * @return The second node of the current tuple.
+         */
+        public Node getNodeTo() {
+
+            return (Node) extensionTable.getTupleObject(tupleIndex, 2);
+        }
+
+        /**
+         * @return The dependency set of the current tuple.
+         */
+        public DependencySet getDependencySet() {
+
+            return extensionTable.getDependencySet(tupleIndex);
+        }
+    }
+
     /**
      * This class encapsulates an entry in HermiT’s extension manager’s binary tuple table.
      */
@@ -53,19 +230,25 @@ public class TupleTableEntries {
         private Node node;
         private DependencySet dependencySet;
         private ExtensionManager extensionManager;
-        private OWLDataFactory dataFactory;
+        private ConceptConverter conceptConverter;
 
         /**
          * This is the standard constructor.
          *
          * @param tupleIndex The tuple index of the entry.
          */
-        public BinaryTupleTableEntry(int tupleIndex, ExtensionManager extensionManager, OWLDataFactory dataFactory) {
+        public BinaryTupleTableEntry(int tupleIndex,
+                                     ExtensionManager extensionManager,
+                                     ConceptConverter conceptConverter) {
             this.extensionManager = extensionManager;
-            this.dataFactory = dataFactory;
+            this.conceptConverter = conceptConverter;
             update(tupleIndex);
         }
 
+        public BinaryTupleTableEntry(int tupleIndex, ExtensionManager extensionManager, OWLDataFactory dataFactory) {
+            this(tupleIndex, extensionManager, new ConceptConverter(dataFactory));
+        }
+
         /**
          * This function sets the entry to the one of a given index.
          *
@@ -119,8 +302,7 @@ public class TupleTableEntries {
 
         public OWLClassExpression getClassExpression() {
 
-            //return concept.accept(new HermitConceptConverter(contextOntology.getDataFactory()));
-            return ConceptConverterNormal.toOWLClassExpression(concept, dataFactory);
+            return conceptConverter.toOWLClassExpression(concept);
         }
 
         @Override
@@ -184,7 +366,7 @@ public class TupleTableEntries {
         public BinaryTupleTableEntry next() {
 
             update(tupleIndex + 1);
-            return new BinaryTupleTableEntry(tupleIndex - 1, extensionManager, dataFactory);
+            return new BinaryTupleTableEntry(tupleIndex - 1, extensionManager, conceptConverter);
         }
     }
 
@@ -195,8 +377,7 @@ public class TupleTableEntries {
             implements Iterator<TernaryTupleTableEntry>, Iterable<TernaryTupleTableEntry> {
 
         private int tupleIndex;
-        private Optional<Role> role;
-        private Optional<Inequality> inequality;
+        private Object predicate;
         private Node nodeFrom;
         private Node nodeTo;
         private DependencySet dependencySet;
@@ -223,17 +404,8 @@ public class TupleTableEntries {
 
             ExtensionTable extensionTable = extensionManager.getTernaryExtensionTable();
 
-            // The following code is necessary because of legacy HermiT code.
-            if (extensionTable.getTupleObject(tupleIndex, 0) instanceof Role) {
-                role = Optional.of((Role) extensionTable.getTupleObject(tupleIndex, 0));
-                inequality = Optional.empty();
-            } else if (extensionTable.getTupleObject(tupleIndex, 0) instanceof Inequality) {
-                role = Optional.empty();
-                inequality = Optional.of((Inequality) extensionTable.getTupleObject(tupleIndex, 0));
-            } else {
-                role = null;
-                inequality = null;
-            }
+            // The predicate is either a role or an inequality; the Optionals are only created by the getters.
+            predicate = extensionTable.getTupleObject(tupleIndex, 0);
             nodeFrom = (Node) extensionTable.getTupleObject(tupleIndex, 1);
             nodeTo = (Node) extensionTable.getTupleObject(tupleIndex, 2);
             dependencySet = extensionTable.getDependencySet(tupleIndex);
@@ -252,7 +424,7 @@ public class TupleTableEntries {
          */
         public Optional<Role> getRole() {
 
-            return role;
+            return predicate instanceof Role ? Optional.of((Role) predicate) : Optional.empty();
         }
 
         /**
@@ -260,7 +432,7 @@ public class TupleTableEntries {
          */
         public Optional<Inequality> getInequality() {
 
-            return inequality;
+            return predicate instanceof Inequality ? Optional.of((Inequality) predicate) : Optional.empty();
         }
 
         /**
@@ -291,7 +463,7 @@ public class TupleTableEntries {
         @Override
         public boolean hasNext() {
 
-            return role != null;
+            return predicate instanceof Role || predicate instanceof Inequality;
         }
 
         @Override
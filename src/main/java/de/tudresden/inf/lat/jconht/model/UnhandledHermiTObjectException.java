@@ -1,8 +1,8 @@
 package de.tudresden.inf.lat.jconht.model;
 
 /**
- * This runtime exception is thrown when the <code>HermitConceptConverter</code>
- * encounters an HermiT concept for which there exists no visit method.
+ * This runtime exception is thrown when the <code>HermitConceptConverter</code> or the <code>ConceptConverter</code>
+ * encounters an HermiT object that they cannot handle.
  *
  * @author Stephan Böhme
  * @author Marcel Lippmann
@@ -0,0 +1,402 @@
+package de.tudresden.inf.lat.jconht.tableau;
+
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.ReasoningMetrics;
+import de.tudresden.inf.lat.jconht.model.RestrictedType;
+import org.semanticweb.HermiT.tableau.Tableau;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static de.tudresden.inf.lat.jconht.model.TupleTableEntries.binaryTupleTableEntries;
+import static de.tudresden.inf.lat.jconht.model.TupleTableEntries.ternaryTupleTableEntries;
+
+/**
+ * This class checks whether the object ontologies induced by restricted types are consistent.
+ * <p>
+ * The checks are done by a pool of object reasoning sessions, which clausify the global object ontology only once.
+ * <p>
+ * The checks of different types are independent of each other. Hence, if more than one object reasoning thread is
+ * configured, the types of a premodel are checked in parallel, and all outstanding checks are cancelled as soon as
+ * one inconsistent type is found.
+ * <p>
+ * If a verdict store directory is configured, verdicts that are not cached are looked up in the persistent verdict
+ * store before the object reasoner is asked, and new verdicts are written back to it.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class AdmissibilityChecker {
+
+    private final ContextOntology contextOntology;
+    private final Deque<ObjectReasoningSession> idleSessions;
+    private final Set<ObjectReasoningSession> activeSessions;
+    private volatile boolean interrupted;
+    private final TypeCache typeCache;
+    private final VerdictStore verdictStore;
+    private final ReasoningMetrics metrics;
+    private final int debugOutput;
+    private final int threads;
+    private final double minimumFreeHeapFraction;
+    private final boolean ownsExecutor;
+    private ExecutorService executor;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param contextOntology The context ontology whose object ontologies are checked.
+     */
+    public AdmissibilityChecker(ContextOntology contextOntology) {
+
+        this.contextOntology = contextOntology;
+        this.idleSessions = new ConcurrentLinkedDeque<>();
+        this.activeSessions = ConcurrentHashMap.newKeySet();
+        this.typeCache = new TypeCache(contextOntology.getConfiguration().typeCacheSize());
+        this.metrics = contextOntology.getMetrics();
+        this.verdictStore = contextOntology.getConfiguration().verdictStoreDirectory() == null ? null :
+                new VerdictStore(contextOntology.getConfiguration().verdictStoreDirectory(), contextOntology);
+        this.debugOutput = contextOntology.getConfiguration().debugOutput();
+        this.threads = contextOntology.getConfiguration().objectReasoningThreads();
+        this.minimumFreeHeapFraction = contextOntology.getConfiguration().minimumFreeHeapFraction();
+        this.executor = contextOntology.getConfiguration().objectReasoningExecutor();
+        this.ownsExecutor = executor == null;
+    }
+
+    /**
+     * This method checks whether the object ontology of a single restricted type is consistent.
+     *
+     * @param restrictedType A restricted type.
+     * @return <code>true</code> if the object ontology of the type is consistent.
+     */
+    public boolean isConsistent(RestrictedType restrictedType) {
+
+        Optional<Boolean> cachedVerdict = lookup(restrictedType);
+        if (cachedVerdict.isPresent()) {
+            if (debugOutput > 1) {
+                System.out.println("--- object ontology for type\n" + restrictedType + "is cached as "
+                        + (cachedVerdict.get() ? "consistent." : "inconsistent."));
+            }
+            return cachedVerdict.get();
+        }
+
+        return reasonAboutAndStore(restrictedType);
+    }
+
+    /**
+     * This method checks whether the object ontologies of all given restricted types are consistent. The types are
+     * a snapshot, i.e. they must not depend on the state of the tableau while the checks are running.
+     *
+     * @param restrictedTypes A list of restricted types.
+     * @return <code>true</code> if the object ontologies of all types are consistent.
+     */
+    public boolean areConsistent(List<RestrictedType> restrictedTypes) {
+
+        return !findInconsistentType(restrictedTypes).isPresent();
+    }
+
+    /**
+     * This method searches the given restricted types for one whose object ontology is inconsistent. The types are
+     * a snapshot, i.e. they must not depend on the state of the tableau while the checks are running.
+     *
+     * @param restrictedTypes A list of restricted types.
+     * @return A type whose object ontology is inconsistent, or Optional.empty() if all are consistent.
+     */
+    public Optional<RestrictedType> findInconsistentType(List<RestrictedType> restrictedTypes) {
+
+        // Types whose verdict is known do not need to be dispatched.
+        List<RestrictedType> uncheckedTypes = new ArrayList<>();
+        for (RestrictedType restrictedType : restrictedTypes) {
+            Optional<Boolean> cachedVerdict = lookup(restrictedType);
+            if (!cachedVerdict.isPresent()) {
+                uncheckedTypes.add(restrictedType);
+            } else if (!cachedVerdict.get()) {
+                return Optional.of(restrictedType);
+            }
+        }
+
+        if (threads <= 1 || uncheckedTypes.size() <= 1) {
+            return uncheckedTypes.stream()
+                    .filter(restrictedType -> !reasonAboutAndStore(restrictedType))
+                    .findFirst();
+        }
+
+        return findInconsistentTypeInParallel(uncheckedTypes);
+    }
+
+    /**
+     * This method shrinks a restricted type with an inconsistent object ontology to a minimal subtype whose object
+     * ontology is still inconsistent, i.e. removing any further meta concept makes it consistent. The subtypes are
+     * checked by the object reasoner one meta concept at a time, and their verdicts are cached.
+     *
+     * @param restrictedType A restricted type whose object ontology is inconsistent.
+     * @return A minimal inconsistent subtype.
+     */
+    public RestrictedType minimalInconsistentSubtype(RestrictedType restrictedType) {
+
+        Set<OWLClass> positiveConcepts = restrictedType.positiveConcepts().collect(Collectors.toSet());
+        Set<OWLClass> negativeConcepts = restrictedType.negativeConcepts().collect(Collectors.toSet());
+
+        for (OWLClass metaConcept : new ArrayList<>(positiveConcepts)) {
+            positiveConcepts.remove(metaConcept);
+            if (isConsistent(new RestrictedType(positiveConcepts, negativeConcepts))) {
+                positiveConcepts.add(metaConcept);
+            }
+        }
+        for (OWLClass metaConcept : new ArrayList<>(negativeConcepts)) {
+            negativeConcepts.remove(metaConcept);
+            if (isConsistent(new RestrictedType(positiveConcepts, negativeConcepts))) {
+                negativeConcepts.add(metaConcept);
+            }
+        }
+
+        RestrictedType minimalSubtype = new RestrictedType(positiveConcepts, negativeConcepts);
+        if (debugOutput > 1) {
+            System.out.println("--- minimal inconsistent subtype of\n" + restrictedType + "is\n" + minimalSubtype);
+        }
+        return minimalSubtype;
+    }
+
+    private Optional<RestrictedType> findInconsistentTypeInParallel(List<RestrictedType> restrictedTypes) {
+
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        Set<ObjectReasoningSession> runningSessions = ConcurrentHashMap.newKeySet();
+        // A task returns its type if the type is inconsistent, and null otherwise.
+        CompletionService<RestrictedType> completionService = new ExecutorCompletionService<>(getExecutor());
+        List<Future<RestrictedType>> futures = new ArrayList<>();
+
+        for (RestrictedType restrictedType : restrictedTypes) {
+            futures.add(completionService.submit(() -> {
+                if (cancelled.get()) {
+                    return null;
+                }
+                try {
+                    boolean isConsistent = reasonAbout(restrictedType, runningSessions);
+                    store(restrictedType, isConsistent);
+                    return isConsistent ? null : restrictedType;
+                } catch (ReasonerInterruptedException e) {
+                    if (cancelled.get()) {
+                        // Another type was already found to be inconsistent, hence the result is not needed.
+                        return null;
+                    }
+                    throw e;
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                RestrictedType inconsistentType = completionService.take().get();
+                if (inconsistentType != null) {
+                    return Optional.of(inconsistentType);
+                }
+            }
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReasonerInterruptedException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // Cancel all outstanding checks; their results are not needed anymore. The interrupted sessions are
+            // returned to the pool, see reasonAbout().
+            cancelled.set(true);
+            futures.forEach(future -> future.cancel(false));
+            synchronized (runningSessions) {
+                runningSessions.forEach(ObjectReasoningSession::interrupt);
+            }
+        }
+    }
+
+    private Optional<Boolean> lookup(RestrictedType restrictedType) {
+
+        Optional<Boolean> cachedVerdict = typeCache.lookup(restrictedType);
+        if (!cachedVerdict.isPresent() && verdictStore != null) {
+            cachedVerdict = verdictStore.lookup(restrictedType);
+            cachedVerdict.ifPresent(isConsistent -> typeCache.store(restrictedType, isConsistent));
+        }
+        metrics.increment(cachedVerdict.isPresent() ?
+                ReasoningMetrics.Counter.TYPE_CACHE_HITS :
+                ReasoningMetrics.Counter.TYPE_CACHE_MISSES);
+        return cachedVerdict;
+    }
+
+    private void store(RestrictedType restrictedType, boolean isConsistent) {
+
+        typeCache.store(restrictedType, isConsistent);
+        if (verdictStore != null) {
+            verdictStore.store(restrictedType, isConsistent);
+        }
+    }
+
+    private boolean reasonAboutAndStore(RestrictedType restrictedType) {
+
+        boolean isConsistent = reasonAbout(restrictedType, null);
+        store(restrictedType, isConsistent);
+        return isConsistent;
+    }
+
+    /**
+     * This method tests the object ontology of a type for consistency. For that, an idle object reasoning session
+     * is taken from the pool, or a new one is created if all sessions are busy.
+     *
+     * @param restrictedType  A restricted type.
+     * @param runningSessions If not null, the session is registered there while it runs, s.t. it can be interrupted.
+     *                        Such an interrupt only cancels the check, i.e. the session is still returned to the pool.
+     * @return <code>true</code> if the object ontology is consistent.
+     */
+    private boolean reasonAbout(RestrictedType restrictedType, Set<ObjectReasoningSession> runningSessions) {
+
+        if (minimumFreeHeapFraction > 0) {
+            releaseMemoryIfLow();
+        }
+
+        ObjectReasoningSession session = idleSessions.poll();
+        if (session == null) {
+            session = new ObjectReasoningSession(contextOntology);
+        }
+        activeSessions.add(session);
+        if (runningSessions != null) {
+            runningSessions.add(session);
+        }
+
+        boolean isConsistent;
+        long start = System.nanoTime();
+        metrics.increment(ReasoningMetrics.Counter.OBJECT_CHECKS);
+        try {
+            // The session is registered before the flag is read, s.t. a concurrent interrupt() cannot be missed.
+            if (interrupted) {
+                session.interrupt();
+            }
+            isConsistent = session.isConsistent(restrictedType);
+
+            if (debugOutput > 1) {
+                printObjectModel(restrictedType, isConsistent, session.getLastTableau());
+            }
+        } finally {
+            metrics.stop(ReasoningMetrics.Phase.OBJECT_CHECKS, start);
+            activeSessions.remove(session);
+            if (runningSessions != null) {
+                // Once the session is removed, the cancellation of the other checks cannot reach it anymore.
+                synchronized (runningSessions) {
+                    runningSessions.remove(session);
+                }
+                if (session.wasInterrupted() && !interrupted) {
+                    session.clearInterrupt();
+                }
+            }
+            if (session.wasInterrupted()) {
+                session.dispose();
+            } else {
+                idleSessions.push(session);
+            }
+        }
+
+        return isConsistent;
+    }
+
+    private void printObjectModel(RestrictedType restrictedType, boolean isConsistent, Tableau tableau) {
+
+        synchronized (System.out) {
+            System.out.println("Object ontology for type\n" + restrictedType + "(in addition to the global object ontology):");
+            contextOntology.objectAxiomsOfType(restrictedType).forEach(System.out::println);
+            System.out.println(String.join("", Collections.nCopies(100, "-")));
+            if (isConsistent) {
+                System.out.println("--- object ontology is consistent, following object model is found:");
+                binaryTupleTableEntries(tableau.getExtensionManager(), contextOntology.getConceptConverter())
+                        .forEach(System.out::println);
+                ternaryTupleTableEntries(tableau.getExtensionManager())
+                        .forEach(System.out::println);
+            } else {
+                System.out.println("--- object ontology is inconsistent.");
+            }
+            System.out.println(String.join("", Collections.nCopies(100, "-")));
+        }
+    }
+
+    /**
+     * This method releases the cached verdicts, the idle object reasoning sessions and the caches of the context
+     * ontology if less than the configured fraction of the heap is free.
+     */
+    private void releaseMemoryIfLow() {
+
+        Runtime runtime = Runtime.getRuntime();
+        long freeHeap = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        if (freeHeap >= minimumFreeHeapFraction * runtime.maxMemory()) {
+            return;
+        }
+
+        if (debugOutput > 0) {
+            System.out.println("Only " + freeHeap / (1024 * 1024) + " MB of heap are free, releasing caches.");
+        }
+        typeCache.clear();
+        disposeIdleSessions();
+        contextOntology.releaseCaches();
+    }
+
+    private void disposeIdleSessions() {
+
+        ObjectReasoningSession session;
+        while ((session = idleSessions.poll()) != null) {
+            session.dispose();
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+
+        if (executor == null) {
+            executor = new ForkJoinPool(threads);
+        }
+        return executor;
+    }
+
+    /**
+     * This method interrupts all running object consistency checks. Checks that are started afterwards are
+     * interrupted immediately, until <code>clearInterrupt()</code> is called. An interrupted check throws a
+     * <code>ReasonerInterruptedException</code>, and its verdict is not cached.
+     */
+    public void interrupt() {
+
+        interrupted = true;
+        activeSessions.forEach(ObjectReasoningSession::interrupt);
+    }
+
+    /**
+     * This method allows object consistency checks again after <code>interrupt()</code> was called.
+     */
+    public void clearInterrupt() {
+
+        interrupted = false;
+    }
+
+    /**
+     * @return The cache of object consistency verdicts per restricted type.
+     */
+    public TypeCache getTypeCache() {
+
+        return typeCache;
+    }
+
+    /**
+     * This method releases the object reasoning sessions and the worker threads, unless the executor was provided by
+     * the configuration.
+     */
+    public synchronized void dispose() {
+
+        disposeIdleSessions();
+        if (verdictStore != null) {
+            verdictStore.close();
+        }
+
+        if (ownsExecutor && executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
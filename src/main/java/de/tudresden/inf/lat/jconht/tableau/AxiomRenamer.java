@@ -1,64 +1,97 @@
 package de.tudresden.inf.lat.jconht.tableau;
 
 import org.semanticweb.owlapi.model.*;
-import org.semanticweb.owlapi.util.OWLEntityRenamer;
+import org.semanticweb.owlapi.util.OWLObjectDuplicator;
 
-import java.util.Collections;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * This class is used to rename OWL axioms in an ontology. This is needed when handling rigid names.
+ * <p>
+ * Every flexible name <code>N</code> is renamed to <code>N_index</code>. Each axiom is rewritten in a single pass,
+ * and the renaming table of an index is computed only once. Axioms without flexible names are not copied at all.
+ * <p>
+ * An instance must not be used by several threads at the same time.
  *
  * @author Stephan Böhme
  * @author Marcel Lippmann
  */
 public class AxiomRenamer {
-    private OWLOntologyManager manager;
+    private final OWLOntologyManager manager;
+    private final Set<OWLEntity> flexibleNames;
+    private final Map<Integer, OWLObjectDuplicator> duplicators;
     private OWLOntology ontologyToChange;
-    private final Function<OWLEntity, Stream<OWLAxiom>> axiomsContainingThatEntity;
 
+    /**
+     * This is the standard constructor.
+     *
+     * @param manager       The ontology manager whose data factory is used for the renamed entities.
+     * @param flexibleNames The names that are renamed.
+     */
+    public AxiomRenamer(OWLOntologyManager manager, Set<OWLEntity> flexibleNames) {
+        this.manager = manager;
+        this.flexibleNames = flexibleNames;
+        this.duplicators = new HashMap<>();
+    }
+
+    /**
+     * This constructor creates a renamer that changes the given ontology in place, see
+     * <code>rename(Set, int)</code>.
+     *
+     * @param ontologyToChange The ontology whose axioms are renamed.
+     */
     public AxiomRenamer(OWLOntology ontologyToChange) {
+        this(ontologyToChange.getOWLOntologyManager(), Collections.emptySet());
         this.ontologyToChange = ontologyToChange;
-        this.manager = ontologyToChange.getOWLOntologyManager();
-        axiomsContainingThatEntity = name -> ontologyToChange.axioms().filter(axiom -> axiom.containsEntityInSignature(name));
     }
 
+    /**
+     * This method renames the flexible names in an axiom.
+     *
+     * @param axiom An axiom.
+     * @param index The index that is appended to the flexible names.
+     * @return The renamed axiom, or the axiom itself if it does not contain any flexible name.
+     */
+    public OWLAxiom rename(OWLAxiom axiom, int index) {
+
+        if (axiom.signature().noneMatch(flexibleNames::contains)) {
+            return axiom;
+        }
+        return duplicators.computeIfAbsent(index, this::createDuplicator).duplicateObject(axiom);
+    }
 
-    //todo hier direkt Streams zu nehmen geht nicht, oder? Wäre es sinnvoller? Schwierig, da ich flexible names mehrmals brauche
-    public void rename(Set<OWLEntity> flexibleNames, int index) {
-
-
-            try {
-                // This ontology is a subset of ontologyToChange that contains all axioms with any flexible name
-                OWLOntology ontology = manager.createOntology(flexibleNames.stream()
-                        .flatMap(axiomsContainingThatEntity));
-
-                OWLEntityRenamer renamer = new OWLEntityRenamer(manager, Collections.singleton(ontology));
+    public Stream<OWLAxiom> renameAxioms(Stream<OWLAxiom> axioms, int index) {
 
-                flexibleNames.forEach(name ->
-                        manager.applyChanges(renamer.changeIRI(name, IRI.create(name.getIRI().getIRIString() + "_" + index))));
+        return axioms.map(axiom -> rename(axiom, index));
+    }
 
-                manager.addAxioms(ontologyToChange, ontology.axioms());
+    /**
+     * This method renames the given flexible names in all axioms of the ontology this renamer was created for.
+     *
+     * @param flexibleNames The names that are renamed.
+     * @param index         The index that is appended to the flexible names.
+     */
+    public void rename(Set<OWLEntity> flexibleNames, int index) {
 
-            } catch (OWLOntologyCreationException e) {
-                e.printStackTrace();
-            }
+        if (ontologyToChange == null) {
+            throw new IllegalStateException("This renamer was not created for an ontology.");
+        }
 
+        AxiomRenamer renamer = new AxiomRenamer(manager, flexibleNames);
+        List<OWLAxiom> axiomsWithFlexibleNames = ontologyToChange.axioms()
+                .filter(axiom -> axiom.signature().anyMatch(flexibleNames::contains))
+                .collect(Collectors.toList());
 
-        // Remove the original axioms containing flexible names from the ontology
-        flexibleNames.forEach(name ->
-                manager.removeAxioms(
-                        ontologyToChange,
-                        axiomsContainingThatEntity.apply(name)));
+        manager.removeAxioms(ontologyToChange, axiomsWithFlexibleNames.stream());
+        manager.addAxioms(ontologyToChange, renamer.renameAxioms(axiomsWithFlexibleNames.stream(), index));
+    }
 
+    private OWLObjectDuplicator createDuplicator(int index) {
 
+        Map<OWLEntity, IRI> renaming = new HashMap<>();
+        flexibleNames.forEach(name -> renaming.put(name, IRI.create(name.getIRI().getIRIString() + "_" + index)));
+        return new OWLObjectDuplicator(renaming, manager);
     }
 }
-
-//todo Im Constructor von OWLEntityRenamer braucht man eine Menge von Ontologien, kann man das einfacher/besser erzeugen?
-
-
-
-
@@ -1,8 +1,31 @@
 package de.tudresden.inf.lat.jconht.tableau;
 
 import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.ReasoningMetrics;
+import de.tudresden.inf.lat.jconht.model.UnhandledClassExpressionException;
 import org.semanticweb.HermiT.Configuration;
 import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.owlapi.model.ClassExpressionType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
+import org.semanticweb.owlapi.reasoner.TimeOutException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * This class describes a reasoner that can deal with contexts.
@@ -14,6 +37,11 @@ import org.semanticweb.HermiT.Reasoner;
  */
 public class ContextReasoner extends Reasoner {
 
+    private final Object deadlineLock = new Object();
+    private boolean deadlineIsActive;
+    private ScheduledExecutorService timer;
+    private boolean ownsContextOntology;
+
     /**
      * This is the standard constructor, which calls the super constructor and then
      * adjusts the tableau used by the reasoner.
@@ -41,9 +69,193 @@ public class ContextReasoner extends Reasoner {
         this(new Configuration(), rootOntology);
     }
 
-//    @Override
-//    public void dispose() {
-//        super.dispose();
-//        m_tableau.clear();
-//    }
+    /**
+     * This method checks the context ontology for consistency within a time limit. When the time limit is exceeded,
+     * the meta tableau and all object reasoners that it started are interrupted.
+     *
+     * @param timeout The time limit.
+     * @param unit    The unit of the time limit.
+     * @return Whether the context ontology is consistent, or Optional.empty() if the time limit was exceeded or the
+     * check was interrupted otherwise.
+     */
+    public Optional<Boolean> isConsistent(long timeout, TimeUnit unit) {
+
+        synchronized (deadlineLock) {
+            deadlineIsActive = true;
+        }
+        ScheduledFuture<?> alarm = getTimer().schedule(() -> {
+            // The alarm must not interrupt a later check, hence it only fires while this check is running.
+            synchronized (deadlineLock) {
+                if (deadlineIsActive) {
+                    interrupt();
+                }
+            }
+        }, timeout, unit);
+
+        try {
+            return Optional.of(isConsistent());
+        } catch (ReasonerInterruptedException | TimeOutException e) {
+            return Optional.empty();
+        } finally {
+            synchronized (deadlineLock) {
+                deadlineIsActive = false;
+            }
+            alarm.cancel(false);
+        }
+    }
+
+    /**
+     * This method checks whether a class expression over the meta signature is satisfiable w.r.t. the context
+     * ontology, i.e. whether some admissible premodel contains an instance of it. Only conjunctions of classes and of
+     * complements of classes are supported, which suffices for subsumption tests between classes.
+     *
+     * @param classExpression A conjunction of meta classes and their complements.
+     * @return <code>true</code> if the class expression is satisfiable.
+     * @throws UnhandledClassExpressionException if a conjunct is neither a class nor the complement of a class.
+     */
+    @Override
+    public boolean isSatisfiable(OWLClassExpression classExpression) {
+
+        Set<OWLClass> positiveClasses = new HashSet<>();
+        Set<OWLClass> negativeClasses = new HashSet<>();
+        for (OWLClassExpression conjunct : classExpression.asConjunctSet()) {
+            if (conjunct.isOWLNothing()) {
+                return false;
+            } else if (conjunct.isOWLThing()) {
+                continue;
+            } else if (conjunct.isOWLClass()) {
+                positiveClasses.add(conjunct.asOWLClass());
+            } else if (conjunct.getClassExpressionType().equals(ClassExpressionType.OBJECT_COMPLEMENT_OF)
+                    && ((OWLObjectComplementOf) conjunct).getOperand().isOWLClass()) {
+                negativeClasses.add(((OWLObjectComplementOf) conjunct).getOperand().asOWLClass());
+            } else {
+                throw new UnhandledClassExpressionException("\nCannot check the satisfiability of " + conjunct
+                        + ", only classes and their complements are supported.");
+            }
+        }
+        return ((ContextTableau) m_tableau).satisfyingNodeLabels(positiveClasses, negativeClasses).isPresent();
+    }
+
+    /**
+     * This method computes the subsumption hierarchy of the classes of the meta signature w.r.t. the context
+     * ontology. In contrast to one consistency check per subsumption test, told subsumers are not tested, and each
+     * admissible premodel that is found rules out further candidate subsumers.
+     *
+     * @return A map from every class of the meta signature to the set of its subsumers, not including the class
+     * itself. An unsatisfiable class is subsumed by every class.
+     */
+    public Map<OWLClass, Set<OWLClass>> classifyMetaConcepts() {
+
+        return new MetaConceptClassifier((ContextTableau) m_tableau).classify();
+    }
+
+    /**
+     * This method checks whether a batch of meta axioms is entailed by the context ontology. All queries share the
+     * clausified meta ontology and the object verdicts of this reasoner: axioms whose negation consists of class
+     * assertions are checked on the premodels of the tableau, and for all other axioms only their negation is
+     * clausified, see <code>EntailmentChecker</code>. Axioms that cannot be negated are checked by HermiT.
+     *
+     * @param axioms Meta axioms.
+     * @return <code>true</code> iff all axioms are entailed.
+     */
+    public boolean isEntailed(Collection<? extends OWLAxiom> axioms) {
+
+        EntailmentChecker entailmentChecker = new EntailmentChecker(this);
+        Map<Boolean, List<OWLAxiom>> axiomsByCheckability = axioms.stream()
+                .collect(Collectors.partitioningBy(entailmentChecker::canCheck));
+
+        return axiomsByCheckability.get(false).stream().allMatch(super::isEntailed)
+                && !entailmentChecker.entailments(axiomsByCheckability.get(true)).containsValue(false);
+    }
+
+    @Override
+    public boolean isEntailed(OWLAxiom axiom) {
+
+        return isEntailed(Collections.singleton(axiom));
+    }
+
+    @Override
+    public boolean isEntailed(Set<? extends OWLAxiom> axioms) {
+
+        return isEntailed((Collection<? extends OWLAxiom>) axioms);
+    }
+
+    /**
+     * This method returns a reasoner for the context ontology with the given changes of the root ontology applied.
+     * The meta ontology is clausified again, but the object consistency verdicts and learned nogoods that are not
+     * affected by the changes are taken over. Hence, the object reasoner is only asked about types whose object
+     * axioms changed. Neither the root ontology nor this reasoner is changed. The returned reasoner owns the changed
+     * context ontology and releases it when it is disposed.
+     *
+     * @param changes Axiom changes of the root ontology.
+     * @return A reasoner for the changed context ontology.
+     */
+    public ContextReasoner applyChanges(List<? extends OWLOntologyChange> changes) {
+
+        ContextTableau tableau = (ContextTableau) m_tableau;
+        ContextOntology changedOntology = tableau.getContextOntology().applyChanges(changes);
+        try {
+            ContextReasoner reasoner = new ContextReasoner(getConfiguration(), changedOntology);
+            reasoner.ownsContextOntology = true;
+            ((ContextTableau) reasoner.m_tableau).reuseResultsOf(tableau);
+            return reasoner;
+        } catch (RuntimeException e) {
+            changedOntology.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * This method interrupts the meta tableau as well as all object reasoners that it started.
+     */
+    @Override
+    public void interrupt() {
+
+        super.interrupt();
+        if (m_tableau instanceof ContextTableau) {
+            ((ContextTableau) m_tableau).interruptObjectReasoning();
+        }
+    }
+
+    /**
+     * @return The counters and timings of the context ontology and of the reasoning about it.
+     */
+    public ReasoningMetrics getMetrics() {
+
+        return ((ContextTableau) m_tableau).getMetrics();
+    }
+
+    private synchronized ScheduledExecutorService getTimer() {
+
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ContextReasoner timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return timer;
+    }
+
+    @Override
+    public void dispose() {
+
+        ContextOntology contextOntology = null;
+        if (m_tableau instanceof ContextTableau) {
+            ((ContextTableau) m_tableau).dispose();
+            contextOntology = ((ContextTableau) m_tableau).getContextOntology();
+        }
+        synchronized (this) {
+            if (timer != null) {
+                timer.shutdownNow();
+                timer = null;
+            }
+        }
+        super.dispose();
+        // The root ontology is removed only after HermiT unregistered from its manager.
+        if (ownsContextOntology && contextOntology != null) {
+            contextOntology.clear();
+            ownsContextOntology = false;
+        }
+    }
 }
@@ -1,11 +1,19 @@
 package de.tudresden.inf.lat.jconht.tableau;
 
+import de.tudresden.inf.lat.jconht.model.ConceptConverter;
 import de.tudresden.inf.lat.jconht.model.ContextOntology;
 import de.tudresden.inf.lat.jconht.model.PreModel;
+import de.tudresden.inf.lat.jconht.model.PreModelView;
+import de.tudresden.inf.lat.jconht.model.ReasoningMetrics;
 import de.tudresden.inf.lat.jconht.model.RestrictedType;
 import org.semanticweb.HermiT.Configuration;
 import org.semanticweb.HermiT.Reasoner;
 import org.semanticweb.HermiT.ReasonerFactory;
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.AtomicNegationConcept;
+import org.semanticweb.HermiT.model.Concept;
+import org.semanticweb.HermiT.model.Individual;
 import org.semanticweb.HermiT.model.Term;
 import org.semanticweb.HermiT.tableau.DependencySet;
 import org.semanticweb.HermiT.tableau.Node;
@@ -13,6 +21,7 @@ import org.semanticweb.HermiT.tableau.Tableau;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -31,7 +40,18 @@ import static de.tudresden.inf.lat.jconht.model.TupleTableEntries.*;
  */
 public class ContextTableau extends Tableau {
 
+    private static final String TEST_INDIVIDUAL = "jconht-test-individual";
+
     private final Predicate<OWLClass> classIsAbstractedMetaConcept;
+    private final AdmissibilityChecker admissibilityChecker;
+    private final Map<AtomicConcept, Integer> metaConceptIds;
+    private final RestrictedType emptyType;
+    private final boolean useConflictLearning;
+    private final List<RestrictedType> learnedNogoods;
+    private final ReasoningMetrics metrics;
+    private DependencySet pendingClashSet;
+    private volatile boolean objectReasoningInterrupted;
+    private volatile OWLReasoner runningObjectReasoner;
     private ContextOntology contextOntology;
     private OWLReasonerFactory reasonerFactory;
     private int debugOutput;
@@ -57,9 +77,14 @@ public class ContextTableau extends Tableau {
         this.contextOntology = contextOntology;
         this.reasonerFactory = new ReasonerFactory();
         this.debugOutput = contextOntology.getConfiguration().debugOutput();
-
-        classIsAbstractedMetaConcept =
-                owlClass -> contextOntology.outerAbstractedMetaConcepts().anyMatch(metaConcept -> metaConcept.equals(owlClass));
+        this.admissibilityChecker = new AdmissibilityChecker(contextOntology);
+        this.metaConceptIds = new HashMap<>();
+        this.emptyType = new RestrictedType(Collections.emptySet(), Collections.emptySet());
+        this.useConflictLearning = contextOntology.getConfiguration().useConflictLearning();
+        this.learnedNogoods = new ArrayList<>();
+        this.metrics = contextOntology.getMetrics();
+
+        classIsAbstractedMetaConcept = contextOntology::isAbstractedMetaConcept;
     }
 
 
@@ -72,11 +97,86 @@ public class ContextTableau extends Tableau {
     @Override
     protected boolean runCalculus() {
 
+        // An interrupt of a previous run does not affect this run; HermiT's own interrupt flag is checked as usual.
+        objectReasoningInterrupted = false;
+        admissibilityChecker.clearInterrupt();
+
         // Cycle through all consistent meta ABoxes (PreModels). If any of those is admissible, the context ontology is
         // consistent, otherwise if all are inadmissible, the context ontology is inconsistent.
-        return consistentInterpretations().filter(this::isAdmissible).findAny().isPresent();
+        return preModelViews().filter(this::isAdmissible).findAny().isPresent();
+    }
+
+
+    /**
+     * This method checks whether a fresh individual can be an instance of all positive and of none of the negative
+     * meta classes in a model of the context ontology, i.e. whether the conjunction of the positive classes and of the
+     * complements of the negative classes is satisfiable. The facts about the individual are added to the premodels
+     * that are enumerated, and the cached object verdicts and learned nogoods are shared with all other runs.
+     * <p>
+     * The admissible premodel that is found is a model of the meta level. Hence, every node of it witnesses that the
+     * classes of its label are satisfiable together, and that they are not subsumed by any class outside its label.
+     *
+     * @param positiveClasses Meta classes that the individual must be an instance of.
+     * @param negativeClasses Meta classes that the individual must not be an instance of.
+     * @return The labels, i.e. the named classes, of all active nodes of the admissible premodel that was found, or
+     * Optional.empty() if the classes are unsatisfiable.
+     */
+    public Optional<Collection<Set<OWLClass>>> satisfyingNodeLabels(Collection<OWLClass> positiveClasses,
+                                                                    Collection<OWLClass> negativeClasses) {
+
+        return satisfyingNodeLabels(Individual.createAnonymous(TEST_INDIVIDUAL), positiveClasses, negativeClasses);
+    }
+
+    /**
+     * This method checks whether a named individual can be an instance of all positive and of none of the negative
+     * meta classes in a model of the context ontology, in the same way as for a fresh individual.
+     *
+     * @param individual      A named individual, which may occur in the meta ABox.
+     * @param positiveClasses Meta classes that the individual must be an instance of.
+     * @param negativeClasses Meta classes that the individual must not be an instance of.
+     * @return The labels of all active nodes of the admissible premodel that was found, or Optional.empty() if there
+     * is no such premodel.
+     */
+    public Optional<Collection<Set<OWLClass>>> satisfyingNodeLabels(OWLNamedIndividual individual,
+                                                                    Collection<OWLClass> positiveClasses,
+                                                                    Collection<OWLClass> negativeClasses) {
+
+        return satisfyingNodeLabels(Individual.create(individual.getIRI().toString()),
+                positiveClasses, negativeClasses);
     }
 
+    private Optional<Collection<Set<OWLClass>>> satisfyingNodeLabels(Individual testIndividual,
+                                                                     Collection<OWLClass> positiveClasses,
+                                                                     Collection<OWLClass> negativeClasses) {
+
+        objectReasoningInterrupted = false;
+        admissibilityChecker.clearInterrupt();
+        metrics.increment(ReasoningMetrics.Counter.SATISFIABILITY_TESTS);
+
+        ConceptConverter conceptConverter = contextOntology.getConceptConverter();
+        List<Atom> positiveFacts = positiveClasses.stream()
+                .map(owlClass -> Atom.create(conceptConverter.toAtomicConcept(owlClass), testIndividual))
+                .collect(Collectors.toList());
+        List<Atom> negativeFacts = negativeClasses.stream()
+                .map(owlClass -> Atom.create(conceptConverter.toAtomicConcept(owlClass), testIndividual))
+                .collect(Collectors.toList());
+
+        if (!preModelViews(positiveFacts, negativeFacts).filter(this::isAdmissible).findAny().isPresent()) {
+            return Optional.empty();
+        }
+
+        // The search stops at the admissible premodel, hence the extension tables still contain it. Merged and pruned
+        // nodes are skipped, because their labels are not updated anymore.
+        Map<Node, Set<OWLClass>> nodeLabels = new HashMap<>();
+        BinaryTupleCursor cursor = new BinaryTupleCursor(getExtensionManager());
+        while (cursor.next()) {
+            if (cursor.getNode().isActive() && cursor.getConcept() instanceof AtomicConcept) {
+                nodeLabels.computeIfAbsent(cursor.getNode(), node -> new HashSet<>())
+                        .add(conceptConverter.toOWLClassExpression(cursor.getConcept()).asOWLClass());
+            }
+        }
+        return Optional.of(nodeLabels.values());
+    }
 
     /**
      * This method returns the set of OWLClasses that are abstracted meta concepts and must hold for a given node.
@@ -85,19 +185,14 @@ public class ContextTableau extends Tableau {
      * @return The set of positive abstracted meta concepts as {@code Stream<OWLClass>}.
      */
     public Stream<OWLClass> positiveMetaConceptsOfNode(Node node) {
-        // TODO oder lieber set zurückgeben?
-        return binaryTupleTableEntries(getExtensionManager(), contextOntology.getDataFactory())
-                .filter(entry -> entry.getNode().equals(node))
-                .map(BinaryTupleTableEntry::getClassExpression)
-                .filter(AsOWLClass::isOWLClass)
-                .map(AsOWLClass::asOWLClass)
-                .filter(classIsAbstractedMetaConcept);
+
+        return typeOfNode(node, indexNodeTypes()).positiveConcepts();
     }
 
     @Deprecated
     private Set<OWLClass> getPositiveMetaConceptsOfNode(Node node) {
         // TODO oder lieber streams zurückgeben?
-        return binaryTupleTableEntries(getExtensionManager(), contextOntology.getDataFactory())
+        return binaryTupleTableEntries(getExtensionManager(), contextOntology.getConceptConverter())
                 .filter(entry -> entry.getNode().equals(node))
                 .map(BinaryTupleTableEntry::getClassExpression)
                 .filter(AsOWLClass::isOWLClass)
@@ -113,18 +208,13 @@ public class ContextTableau extends Tableau {
      * @return The set of negative abstracted meta concepts as {@code Stream<OWLClass>}.
      */
     public Stream<OWLClass> negativeMetaConceptsOfNode(Node node) {
-        return binaryTupleTableEntries(getExtensionManager(), contextOntology.getDataFactory())
-                .filter(entry -> entry.getNode().equals(node))
-                .map(BinaryTupleTableEntry::getClassExpression)
-                .filter(owlClassExpression ->
-                        owlClassExpression.getClassExpressionType().equals(ClassExpressionType.OBJECT_COMPLEMENT_OF))
-                .flatMap(HasClassesInSignature::classesInSignature)
-                .filter(classIsAbstractedMetaConcept);
+
+        return typeOfNode(node, indexNodeTypes()).negativeConcepts();
     }
 
     @Deprecated
     private Set<OWLClass> getNegativeMetaConceptsOfNode(Node node) {
-        return binaryTupleTableEntries(getExtensionManager(), contextOntology.getDataFactory())
+        return binaryTupleTableEntries(getExtensionManager(), contextOntology.getConceptConverter())
                 .filter(entry -> entry.getNode().equals(node))
                 .map(BinaryTupleTableEntry::getClassExpression)
                 .filter(owlClassExpression ->
@@ -133,11 +223,60 @@ public class ContextTableau extends Tableau {
                 .collect(Collectors.toSet());
     }
 
-    private RestrictedType typeOfNode(Node node) {
+    /**
+     * This method computes the restricted types of all nodes in a single pass over the binary tuple table. HermiT's
+     * atomic concepts are translated directly into abstracted meta concepts; all other concepts are skipped.
+     *
+     * @return A map from nodes to their restricted types. Nodes without abstracted meta concepts are not contained.
+     */
+    private Map<Node, RestrictedType> indexNodeTypes() {
+
+        Map<Node, Set<OWLClass>> positiveConcepts = new HashMap<>();
+        Map<Node, Set<OWLClass>> negativeConcepts = new HashMap<>();
+
+        BinaryTupleCursor cursor = new BinaryTupleCursor(getExtensionManager());
+        while (cursor.next()) {
+            Concept concept = cursor.getConcept();
+            if (concept instanceof AtomicConcept) {
+                Optional<OWLClass> metaConcept = metaConceptOf((AtomicConcept) concept);
+                if (metaConcept.isPresent()) {
+                    positiveConcepts.computeIfAbsent(cursor.getNode(), node -> new HashSet<>()).add(metaConcept.get());
+                }
+            } else if (concept instanceof AtomicNegationConcept) {
+                Optional<OWLClass> metaConcept =
+                        metaConceptOf(((AtomicNegationConcept) concept).getNegatedAtomicConcept());
+                if (metaConcept.isPresent()) {
+                    negativeConcepts.computeIfAbsent(cursor.getNode(), node -> new HashSet<>()).add(metaConcept.get());
+                }
+            }
+        }
+
+        Map<Node, RestrictedType> nodeTypes = new HashMap<>();
+        Stream.concat(positiveConcepts.keySet().stream(), negativeConcepts.keySet().stream())
+                .distinct()
+                .forEach(node -> nodeTypes.put(node, new RestrictedType(
+                        positiveConcepts.getOrDefault(node, Collections.emptySet()),
+                        negativeConcepts.getOrDefault(node, Collections.emptySet()))));
+        return nodeTypes;
+    }
+
+    /**
+     * This method translates a HermiT atomic concept into an abstracted meta concept. HermiT interns its atomic
+     * concepts, hence the translation into the meta concept's ID is memoised.
+     *
+     * @param atomicConcept An atomic concept.
+     * @return The abstracted meta concept, or Optional.empty() if the concept is not an abstracted meta concept.
+     */
+    private Optional<OWLClass> metaConceptOf(AtomicConcept atomicConcept) {
+
+        int id = metaConceptIds.computeIfAbsent(atomicConcept, concept -> contextOntology.metaConceptId(
+                contextOntology.getConceptConverter().toOWLClassExpression(concept).asOWLClass()));
+        return id < 0 ? Optional.empty() : Optional.of(contextOntology.metaConceptOfId(id));
+    }
+
+    private RestrictedType typeOfNode(Node node, Map<Node, RestrictedType> nodeTypes) {
 
-        RestrictedType restrictedType = new RestrictedType(
-                positiveMetaConceptsOfNode(node).collect(Collectors.toSet()),
-                negativeMetaConceptsOfNode(node).collect(Collectors.toSet()));
+        RestrictedType restrictedType = nodeTypes.getOrDefault(node, emptyType);
         if (debugOutput > 1) {
             System.out.println("types for node " + node + ":\n" + restrictedType);
         }
@@ -153,45 +292,23 @@ public class ContextTableau extends Tableau {
     private Optional<DependencySet> isAdmissibleWithoutRigid() {
 
         // Iterate over all tableau nodes and check whether one of them is not inner consistent.
+        Map<Node, RestrictedType> nodeTypes = indexNodeTypes();
         Optional<Node> clashNode = tableauNodes()
-                .filter(node -> {
-                    OWLReasoner objectReasoner = reasonerFactory.createReasoner(
-                            contextOntology.getObjectOntology(Collections.singletonList(typeOfNode(node))));
-                    boolean isInconsistent = !objectReasoner.isConsistent();
-                    if (debugOutput > 1) {
-                        System.out.println("Object ontology for node " + node + ":");
-                        objectReasoner.getRootOntology().axioms().forEach(System.out::println);
-                    }
-                    if (debugOutput > 1 && !isInconsistent) {
-                        System.out.println(String.join("", Collections.nCopies(100, "-")));
-                        System.out.println("--- object ontology for node " + node + " is consistent, following object model is found:");
-                        binaryTupleTableEntries(((Reasoner) objectReasoner).getTableau().getExtensionManager(),
-                                contextOntology.getDataFactory())
-                                .forEach(System.out::println);
-                        ternaryTupleTableEntries(((Reasoner) objectReasoner).getTableau().getExtensionManager())
-                                .forEach(System.out::println);
-                        System.out.println(String.join("", Collections.nCopies(100, "-")));
-                    }
-
-                    return isInconsistent;
-                })
+                .filter(node -> !admissibilityChecker.isConsistent(typeOfNode(node, nodeTypes)))
                 .findFirst();
 
         // Check whether a clash occurred, and return dependency set if so.
         if (clashNode.isPresent()) {
 
-            // Obtain the last non-empty dependency set of last entry that speaks about clashNode.
-            DependencySet clashSet =
-                    binaryTupleTableEntries(getExtensionManager(), contextOntology.getDataFactory())
-                            // Consider only entries that speak about clashNode.
-                            .filter(entry -> entry.getNode().equals(clashNode.get()))
-                            // Consider only entries with non-empty dependency sets
-                            .filter(entry -> !entry.getDependencySet().isEmpty())
-                            // Take the last entry, which is present!
-                            .reduce((entry1, entry2) -> entry2)
-                            // If no such element is present, simply take the first entry in the binaryTupleTable (note that it has an empty depency set)
-                            .orElse(new BinaryTupleTableEntry(0, getExtensionManager(), contextOntology.getDataFactory()))
-                            .getDependencySet();
+            // Obtain the last non-empty dependency set of last entry that speaks about clashNode. If there is no
+            // such entry, the empty dependency set is taken.
+            DependencySet clashSet = m_dependencySetFactory.emptySet();
+            BinaryTupleCursor cursor = new BinaryTupleCursor(getExtensionManager());
+            while (cursor.next()) {
+                if (cursor.getNode().equals(clashNode.get()) && !cursor.getDependencySet().isEmpty()) {
+                    clashSet = cursor.getDependencySet();
+                }
+            }
 
             if (debugOutput > 1) {
                 System.out.println("Node " + clashNode.get() + " is not admissible. Returning dependency set: " +
@@ -222,71 +339,136 @@ public class ContextTableau extends Tableau {
      * @param model A model for the meta ontology.
      * @return <code>true</code> if ABox is admissible.
      */
-    private boolean isAdmissible(PreModel model) {
+    private boolean isAdmissible(PreModelView model) {
+
+        getInterruptFlag().checkInterrupt();
+        metrics.increment(ReasoningMetrics.Counter.ADMISSIBILITY_CHECKS);
+
+        Map<Node, RestrictedType> nodeTypes = model.nodeTypes();
 
         if (contextOntology.containsRigidNames()) {
             //if (false) {
             // Generate object ontology with renaming and check for admissibility
-            OWLReasoner objectReasoner = reasonerFactory.createReasoner(
-                    contextOntology.getObjectOntology(tableauNodes()
-                            .map(this::typeOfNode)
-                            .collect(Collectors.toList())));
-            boolean isConsistent = objectReasoner.isConsistent();
-            if (debugOutput > 1) {
-                System.out.println("Object ontology with renaming:\n");
-                objectReasoner.getRootOntology().axioms().forEach(System.out::println);
-                System.out.println(String.join("", Collections.nCopies(100, "-")));
-                if (isConsistent) {
-                    binaryTupleTableEntries(((Reasoner) objectReasoner).getTableau().getExtensionManager(),
-                            contextOntology.getDataFactory())
-                            .forEach(System.out::println);
-                    ternaryTupleTableEntries(((Reasoner) objectReasoner).getTableau().getExtensionManager())
-                            .forEach(System.out::println);
-                } else {
-                    System.out.println("--- object ontology is inconsistent.");
+            OWLOntology objectOntology = contextOntology.getObjectOntology(tableauNodes()
+                    .map(node -> typeOfNode(node, nodeTypes))
+                    .collect(Collectors.toList()));
+            long start = System.nanoTime();
+            OWLReasoner objectReasoner = reasonerFactory.createReasoner(objectOntology);
+            metrics.increment(ReasoningMetrics.Counter.OBJECT_REASONERS);
+            metrics.increment(ReasoningMetrics.Counter.OBJECT_CHECKS);
+            runningObjectReasoner = objectReasoner;
+            try {
+                // The reasoner is published before the flag is read, s.t. a concurrent interrupt cannot be missed.
+                if (objectReasoningInterrupted) {
+                    throw new ReasonerInterruptedException("The object reasoning was interrupted.");
+                }
+                boolean isConsistent = objectReasoner.isConsistent();
+                if (debugOutput > 1) {
+                    System.out.println("Object ontology with renaming:\n");
+                    objectOntology.axioms().forEach(System.out::println);
+                    System.out.println(String.join("", Collections.nCopies(100, "-")));
+                    if (isConsistent) {
+                        binaryTupleTableEntries(((Reasoner) objectReasoner).getTableau().getExtensionManager(),
+                                contextOntology.getConceptConverter())
+                                .forEach(System.out::println);
+                        ternaryTupleTableEntries(((Reasoner) objectReasoner).getTableau().getExtensionManager())
+                                .forEach(System.out::println);
+                    } else {
+                        System.out.println("--- object ontology is inconsistent.");
+                    }
+                    System.out.println(String.join("", Collections.nCopies(100, "-")));
                 }
-                System.out.println(String.join("", Collections.nCopies(100, "-")));
+                return isConsistent;
+            } finally {
+                runningObjectReasoner = null;
+                objectReasoner.dispose();
+                contextOntology.releaseObjectOntology(objectOntology);
+                metrics.stop(ReasoningMetrics.Phase.OBJECT_CHECKS, start);
             }
-            return isConsistent;
 
         } else {
             // No rigid names
 
-            // Iterate over all tableau nodes and check whether one of them is not inner consistent.
-            boolean thereExistsNodeThatIsNotInnerConsistent = tableauNodes()
-                    // filter if there is any node that is not inner consistent.
-                    .filter(node -> {
-                        OWLOntology objectOntology = contextOntology.getObjectOntology(Collections.singletonList(typeOfNode(node)));
-                        OWLReasoner reasoner = reasonerFactory.createReasoner(objectOntology);
-                        boolean isInconsistent = !reasoner.isConsistent();
-                        if (debugOutput > 1) {
-                            System.out.println("Object ontology for node " + node + ":");
-                            reasoner.getRootOntology().axioms().forEach(System.out::println);
-                            ((Reasoner) reasoner).getDLOntology().getDLClauses().forEach(System.out::println);
-                            System.out.println(String.join("", Collections.nCopies(100, "-")));
-                            if (!isInconsistent) {
-                                System.out.println("--- object ontology for node " + node
-                                        + " is consistent, following object model is found:");
-                                binaryTupleTableEntries(((Reasoner) reasoner).getTableau().getExtensionManager(),
-                                        contextOntology.getDataFactory())
-                                        .forEach(System.out::println);
-                                ternaryTupleTableEntries(((Reasoner) reasoner).getTableau().getExtensionManager())
-                                        .forEach(System.out::println);
-                            } else {
-                                System.out.println("--- object ontology for node " + node
-                                        + " is inconsistent.");
-                            }
-                            System.out.println(String.join("", Collections.nCopies(100, "-")));
-                        }
-
-                        return isInconsistent;
-                    })
-                    .findAny().isPresent();
-
-            return !thereExistsNodeThatIsNotInnerConsistent;
+            // Take a snapshot of the types of all tableau nodes; the checks of the induced object ontologies are
+            // independent of each other and of the state of the tableau.
+            List<RestrictedType> restrictedTypes = tableauNodes()
+                    .map(node -> typeOfNode(node, nodeTypes))
+                    .distinct()
+                    .collect(Collectors.toList());
+
+            if (!useConflictLearning) {
+                return admissibilityChecker.areConsistent(restrictedTypes);
+            }
+
+            // A type that contains a learned nogood is inadmissible without asking the object reasoner.
+            for (RestrictedType nogood : learnedNogoods) {
+                Optional<Node> clashNode = nodeWithSupertype(nogood, nodeTypes);
+                if (clashNode.isPresent()) {
+                    pendingClashSet = clashSetOf(clashNode.get(), nogood);
+                    metrics.increment(ReasoningMetrics.Counter.NOGOOD_PRUNINGS);
+                    return false;
+                }
+            }
+
+            Optional<RestrictedType> inconsistentType = admissibilityChecker.findInconsistentType(restrictedTypes);
+            if (inconsistentType.isPresent()) {
+                RestrictedType nogood = admissibilityChecker.minimalInconsistentSubtype(inconsistentType.get());
+                learnedNogoods.add(nogood);
+                metrics.increment(ReasoningMetrics.Counter.LEARNED_NOGOODS);
+                nodeWithSupertype(nogood, nodeTypes).ifPresent(node -> pendingClashSet = clashSetOf(node, nogood));
+                return false;
+            }
+            return true;
         }
     }
 
+    private Optional<Node> nodeWithSupertype(RestrictedType nogood, Map<Node, RestrictedType> nodeTypes) {
+
+        return tableauNodes()
+                .filter(node -> nogood.isSubtypeOf(nodeTypes.getOrDefault(node, emptyType)))
+                .findFirst();
+    }
+
+    /**
+     * This method computes the dependency set of a learned nogood at a node, i.e. the union of the dependency sets of
+     * all entries that assert a meta concept of the nogood for the node. Every premodel that keeps the choices in
+     * this set contains the nogood again, hence backtracking on it skips all of them at once.
+     *
+     * @param node   A node whose type contains the nogood.
+     * @param nogood A minimal inconsistent restricted type.
+     * @return The dependency set for backjumping.
+     */
+    private DependencySet clashSetOf(Node node, RestrictedType nogood) {
+
+        DependencySet clashSet = m_dependencySetFactory.emptySet();
+        BinaryTupleCursor cursor = new BinaryTupleCursor(getExtensionManager());
+        while (cursor.next()) {
+            if (cursor.getNode() != node) {
+                continue;
+            }
+            Concept concept = cursor.getConcept();
+            boolean assertsNogood = false;
+            if (concept instanceof AtomicConcept) {
+                assertsNogood = metaConceptOf((AtomicConcept) concept)
+                        .filter(nogood::containsPositive)
+                        .isPresent();
+            } else if (concept instanceof AtomicNegationConcept) {
+                assertsNogood = metaConceptOf(((AtomicNegationConcept) concept).getNegatedAtomicConcept())
+                        .filter(nogood::containsNegative)
+                        .isPresent();
+            }
+            if (assertsNogood) {
+                clashSet = m_dependencySetFactory.unionWith(clashSet, cursor.getDependencySet());
+            }
+        }
+
+        if (debugOutput > 1) {
+            System.out.println("Node " + node + " contains the nogood\n" + nogood + "Backjumping with dependency set: "
+                    + clashSet);
+        }
+        return clashSet;
+    }
+
     @Deprecated
     public Set<PreModel> listModels() {
         Set<PreModel> models = new HashSet<>();
@@ -309,25 +491,23 @@ public class ContextTableau extends Tableau {
             createNewNINode(m_dependencySetFactory.emptySet());
         }
         if (super.runCalculus()) {
-            models.add(new PreModel(getExtensionManager(), contextOntology.getDataFactory()));
+            models.add(new PreModel(getExtensionManager(), contextOntology.getConceptConverter()));
         }
 
 
-        Optional<BinaryTupleTableEntry> entry;
+        DependencySet dependencySet;
         do {
-            entry = binaryTupleTableEntries(getExtensionManager(), contextOntology.getDataFactory())
-                    .filter(tuple -> !tuple.getDependencySet().isEmpty())
-                    .reduce((a, b) -> b);
+            dependencySet = lastNonEmptyDependencySet();
 
-            if (entry.isPresent()) {
-                getExtensionManager().setClash(entry.get().getDependencySet());
+            if (!dependencySet.isEmpty()) {
+                getExtensionManager().setClash(dependencySet);
 
                 if (super.runCalculus()) {
-                    models.add(new PreModel(getExtensionManager(), contextOntology.getDataFactory()));
+                    models.add(new PreModel(getExtensionManager(), contextOntology.getConceptConverter()));
                 }
             }
 
-        } while (entry.isPresent());
+        } while (!dependencySet.isEmpty());
 
         return models;
     }
@@ -338,17 +518,170 @@ public class ContextTableau extends Tableau {
      * @return true iff ontology is consistent
      */
     private boolean tableauRunCalculus() {
+        long start = System.nanoTime();
         boolean result = super.runCalculus();
+        metrics.stop(ReasoningMetrics.Phase.PREMODEL_SEARCH, start);
+
+        return result;
+    }
+
+    /**
+     * The size of the meta tableau is sampled after each expansion step, s.t. the peak size includes the nodes that
+     * are merged or pruned again before the calculus terminates.
+     */
+    @Override
+    protected boolean doIteration() {
+
+        boolean result = super.doIteration();
+        metrics.recordTableauSize(getNumberOfNodesInTableau());
 
         return result;
     }
 
+    /**
+     * @return The cache of object consistency verdicts per restricted type.
+     */
+    public TypeCache getTypeCache() {
+
+        return admissibilityChecker.getTypeCache();
+    }
+
+    /**
+     * @return The context ontology of this tableau.
+     */
+    public ContextOntology getContextOntology() {
+
+        return contextOntology;
+    }
+
+    /**
+     * This method takes over the cached object consistency verdicts and the learned nogoods of the tableau of a
+     * previous version of the context ontology, as far as they are still valid. A verdict of a type is valid if the
+     * object axioms of all meta concepts of the type are unchanged, and if the global object axioms were only extended
+     * for an inconsistent type, or only reduced for a consistent type.
+     *
+     * @param previous The tableau of a previous version of the context ontology.
+     * @return The number of verdicts that were taken over.
+     */
+    public int reuseResultsOf(ContextTableau previous) {
+
+        Set<OWLAxiom> previousGlobalAxioms = previous.contextOntology.globalObjectOntology()
+                .collect(Collectors.toSet());
+        Set<OWLAxiom> globalAxioms = contextOntology.globalObjectOntology().collect(Collectors.toSet());
+        // Further axioms keep an object ontology inconsistent, and fewer axioms keep it consistent.
+        boolean inconsistentTypesStayInconsistent = globalAxioms.containsAll(previousGlobalAxioms);
+        boolean consistentTypesStayConsistent = previousGlobalAxioms.containsAll(globalAxioms);
+
+        Predicate<RestrictedType> hasSameObjectAxioms = restrictedType -> Stream.concat(
+                restrictedType.positiveConcepts(),
+                restrictedType.negativeConcepts())
+                .allMatch(metaConcept -> {
+                    // The negated axioms of dual classes contain fresh individuals, hence the original axioms are
+                    // compared.
+                    Optional<OWLAxiom> objectAxiom = contextOntology.originalObjectAxiomOf(metaConcept);
+                    return objectAxiom.isPresent()
+                            && objectAxiom.equals(previous.contextOntology.originalObjectAxiomOf(metaConcept))
+                            && contextOntology.isNegatedMetaConcept(metaConcept)
+                            == previous.contextOntology.isNegatedMetaConcept(metaConcept);
+                });
+
+        int reusedVerdicts = 0;
+        for (Map.Entry<RestrictedType, Boolean> verdict : previous.getTypeCache().verdicts().entrySet()) {
+            boolean globalAxiomsAllowVerdict = verdict.getValue() ?
+                    consistentTypesStayConsistent :
+                    inconsistentTypesStayInconsistent;
+            if (globalAxiomsAllowVerdict && hasSameObjectAxioms.test(verdict.getKey())) {
+                getTypeCache().store(verdict.getKey(), verdict.getValue());
+                reusedVerdicts++;
+            }
+        }
+        if (inconsistentTypesStayInconsistent) {
+            previous.learnedNogoods.stream()
+                    .filter(hasSameObjectAxioms)
+                    .forEach(learnedNogoods::add);
+        }
+
+        if (debugOutput > 0) {
+            System.out.println("Reused " + reusedVerdicts + " verdicts and " + learnedNogoods.size()
+                    + " nogoods of the previous version.");
+        }
+        return reusedVerdicts;
+    }
+
+    /**
+     * @return The metrics of the context ontology, which include the counters of this tableau.
+     */
+    public ReasoningMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    /**
+     * This method releases the resources used for object reasoning.
+     */
+    public void dispose() {
+
+        admissibilityChecker.dispose();
+    }
+
+    /**
+     * This method interrupts all object reasoners that are running for the current premodel, and all object reasoners
+     * that are started until the next run of the calculus. The meta level is interrupted by HermiT's interrupt flag.
+     */
+    public void interruptObjectReasoning() {
+
+        objectReasoningInterrupted = true;
+        admissibilityChecker.interrupt();
+        OWLReasoner objectReasoner = runningObjectReasoner;
+        if (objectReasoner != null) {
+            objectReasoner.interrupt();
+        }
+    }
+
     /**
      * @return A stream of Premodels that HermiT calculated.
      */
     public Stream<PreModel> consistentInterpretations() {
 
-        return StreamSupport.stream(new ModelIterator().spliterator(), false);
+        return preModelViews().map(PreModelView::materialize);
+    }
+
+    /**
+     * @return A stream of views on the premodels that HermiT calculated. A view is only valid until the next one is
+     * requested.
+     */
+    private Stream<PreModelView> preModelViews() {
+
+        return preModelViews(Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * @param positiveFacts Facts that are added to every premodel.
+     * @param negativeFacts Negated facts that are added to every premodel.
+     * @return A stream of views on the premodels that HermiT calculated with the additional facts. A view is only
+     * valid until the next one is requested.
+     */
+    private Stream<PreModelView> preModelViews(List<Atom> positiveFacts, List<Atom> negativeFacts) {
+
+        return StreamSupport.stream(new ModelIterator(positiveFacts, negativeFacts).spliterator(), false);
+    }
+
+    /**
+     * This method scans the binary extension table for the last entry with a non-empty dependency set.
+     *
+     * @return The last non-empty dependency set, or an empty dependency set if all entries are deterministic.
+     */
+    private DependencySet lastNonEmptyDependencySet() {
+
+        DependencySet lastDependencySet = m_dependencySetFactory.emptySet();
+        BinaryTupleCursor cursor = new BinaryTupleCursor(getExtensionManager());
+        while (cursor.next()) {
+            DependencySet dependencySet = cursor.getDependencySet();
+            if (!dependencySet.isEmpty()) {
+                lastDependencySet = dependencySet;
+            }
+        }
+        return lastDependencySet;
     }
 
     /**
@@ -362,15 +695,18 @@ public class ContextTableau extends Tableau {
     /**
      * This class realises an iterator for consistentInterpretations that Hermit calculates.
      */
-    private class ModelIterator implements Iterator<PreModel>, Iterable<PreModel> {
+    private class ModelIterator implements Iterator<PreModelView>, Iterable<PreModelView> {
 
-        private PreModel model;
+        private PreModelView model;
 
         /**
          * The standard constructor initialising the internal state with the first model if the ontology is
          * consistent. The initialisation is taken from isSatisfiable(...) in HermiT's Tableau class.
+         *
+         * @param positiveFacts Facts that are added without dependencies, s.t. backtracking never retracts them.
+         * @param negativeFacts Negated facts that are added without dependencies.
          */
-        public ModelIterator() {
+        public ModelIterator(List<Atom> positiveFacts, List<Atom> negativeFacts) {
             Map<Term, Node> termsToNode = new HashMap<>();
 
             clear();
@@ -384,6 +720,8 @@ public class ContextTableau extends Tableau {
                 m_additionalDLOntology.getNegativeFacts()
                         .forEach(atom -> loadNegativeFact(termsToNode, atom, m_dependencySetFactory.emptySet()));
             }
+            positiveFacts.forEach(atom -> loadPositiveFact(termsToNode, atom, m_dependencySetFactory.emptySet()));
+            negativeFacts.forEach(atom -> loadNegativeFact(termsToNode, atom, m_dependencySetFactory.emptySet()));
 
             // Ensure that at least one individual exists.
             if (m_firstTableauNode == null) {
@@ -397,24 +735,22 @@ public class ContextTableau extends Tableau {
         public boolean hasNext() {
             // Only do backtracking when there already is a model (not in the very first call of hasNext()
             if (model != null) {
-                Optional<BinaryTupleTableEntry> entry =
-                        binaryTupleTableEntries(getExtensionManager(), contextOntology.getDataFactory())
-                                .filter(tuple -> !tuple.getDependencySet().isEmpty())
-                                .reduce((a, b) -> b);
-                DependencySet clashSet;
-                if (entry.isPresent()) {
-                    // If there is any node with a non-empty dependency set, use it for backtracking
-                    clashSet = entry.get().getDependencySet();
+                metrics.increment(ReasoningMetrics.Counter.BACKTRACKS);
+                if (pendingClashSet != null) {
+                    // The last premodel contained a nogood, hence backjump over all choices that are not involved.
+                    getExtensionManager().setClash(pendingClashSet);
+                    pendingClashSet = null;
                 } else {
-                    // Otherwise we cycled through all models and are done -> set clash with empty dependency set
-                    clashSet = new BinaryTupleTableEntry(0, getExtensionManager(), contextOntology.getDataFactory())
-                            .getDependencySet();
+                    // If there is any node with a non-empty dependency set, use it for backtracking. Otherwise we
+                    // cycled through all models and are done -> set clash with empty dependency set
+                    getExtensionManager().setClash(lastNonEmptyDependencySet());
                 }
-                getExtensionManager().setClash(clashSet);
             }
 
             if (tableauRunCalculus()) {
-                model = new PreModel(getExtensionManager(), contextOntology.getDataFactory());
+                metrics.increment(ReasoningMetrics.Counter.PREMODELS);
+                model = new PreModelView(getExtensionManager(), contextOntology.getConceptConverter(),
+                        ContextTableau.this::indexNodeTypes);
             } else {
                 model = null;
             }
@@ -423,7 +759,7 @@ public class ContextTableau extends Tableau {
         }
 
         @Override
-        public PreModel next() {
+        public PreModelView next() {
 
             if (debugOutput > 1) {
                 //System.out.println(contextOntology);
@@ -435,7 +771,7 @@ public class ContextTableau extends Tableau {
         }
 
         @Override
-        public Iterator<PreModel> iterator() {
+        public Iterator<PreModelView> iterator() {
 
             return this;
         }
@@ -0,0 +1,277 @@
+package de.tudresden.inf.lat.jconht.tableau;
+
+import de.tudresden.inf.lat.jconht.model.AxiomNegator;
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.UnhandledAxiomTypeException;
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
+import org.semanticweb.HermiT.tableau.Tableau;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * This class checks whether meta axioms are entailed by a context ontology. An axiom is entailed iff the context
+ * ontology extended by its negation is inconsistent.
+ * <p>
+ * A batch of axioms is checked in two steps. If the negation of an axiom is a set of class assertions, i.e. the
+ * axiom is a subclass axiom between conjunctions of classes and their complements, or a class assertion of such a
+ * class to a named individual, the assertions are added to the premodels of the given tableau. These checks are
+ * done sequentially, and they share the cached object verdicts and learned nogoods of the tableau. Every other
+ * axiom is negated, and only its negation is clausified. If the tableau supports the clauses of the negation as
+ * additional DL ontology, the check is done on the tableau itself. Otherwise, a further tableau over the clausified
+ * meta ontology and the negation is created for the same context ontology. Since only a meta axiom is added, this
+ * tableau takes over all verdicts and nogoods of the given tableau. These tableaux are run in parallel if more than
+ * one entailment thread is configured.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class EntailmentChecker {
+
+    private final ContextReasoner reasoner;
+    private final ContextTableau tableau;
+    private final ContextOntology contextOntology;
+    private final Configuration reasonerConfiguration;
+    private final OWLDataFactory dataFactory;
+    private final AxiomNegator axiomNegator;
+    private final int threads;
+    private final int debugOutput;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param reasoner The reasoner of the context ontology, whose tableau is used for all checks.
+     */
+    public EntailmentChecker(ContextReasoner reasoner) {
+
+        this.reasoner = reasoner;
+        this.tableau = (ContextTableau) reasoner.getTableau();
+        this.contextOntology = tableau.getContextOntology();
+        this.reasonerConfiguration = reasoner.getConfiguration();
+        this.dataFactory = contextOntology.getDataFactory();
+        this.axiomNegator = new AxiomNegator(dataFactory);
+        this.threads = Math.max(1, contextOntology.getConfiguration().entailmentThreads());
+        this.debugOutput = contextOntology.getConfiguration().debugOutput();
+    }
+
+    /**
+     * @param axiom A meta axiom.
+     * @return <code>true</code> if the entailment of the axiom can be checked, i.e. if it is not a logical axiom or
+     * if it can be negated.
+     */
+    public boolean canCheck(OWLAxiom axiom) {
+
+        if (!axiom.isLogicalAxiom()) {
+            return true;
+        }
+        try {
+            axiom.getAxiomWithoutAnnotations().accept(axiomNegator);
+            return true;
+        } catch (UnhandledAxiomTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * This method checks for every given axiom whether it is entailed by the context ontology. Non-logical axioms are
+     * always entailed, and the annotations of the axioms are ignored.
+     *
+     * @param axioms Meta axioms.
+     * @return A map from every given axiom to <code>true</code> iff it is entailed, in the order of the axioms.
+     * @throws UnhandledAxiomTypeException if an axiom cannot be checked, see <code>canCheck</code>.
+     */
+    public Map<OWLAxiom, Boolean> entailments(Collection<? extends OWLAxiom> axioms) {
+
+        Map<OWLAxiom, Boolean> entailments = new LinkedHashMap<>();
+        axioms.forEach(axiom -> entailments.put(axiom, null));
+
+        List<OWLAxiom> remainingAxioms = new ArrayList<>();
+        for (OWLAxiom axiom : entailments.keySet()) {
+            Optional<Boolean> isEntailed = axiom.isLogicalAxiom() ?
+                    isEntailedOnTableau(axiom.getAxiomWithoutAnnotations()) :
+                    Optional.of(true);
+            if (isEntailed.isPresent()) {
+                entailments.put(axiom, isEntailed.get());
+            } else {
+                remainingAxioms.add(axiom);
+            }
+        }
+
+        if (debugOutput > 0) {
+            System.out.println("Checked " + (entailments.size() - remainingAxioms.size()) + " entailments on the "
+                    + "premodels, " + remainingAxioms.size() + " entailments need their negation to be clausified.");
+        }
+        if (!remainingAxioms.isEmpty()) {
+            isEntailedWithNegation(remainingAxioms, entailments);
+        }
+        return entailments;
+    }
+
+    /**
+     * This method checks the entailment of an axiom whose negation is a set of class assertions on the tableau.
+     *
+     * @param axiom A logical axiom without annotations.
+     * @return Whether the axiom is entailed, or Optional.empty() if its negation is not a set of class assertions.
+     */
+    private Optional<Boolean> isEntailedOnTableau(OWLAxiom axiom) {
+
+        Set<OWLClass> positiveClasses = new HashSet<>();
+        Set<OWLClass> negativeClasses = new HashSet<>();
+
+        if (axiom.isOfType(AxiomType.SUBCLASS_OF)) {
+            // ¬(C ⊑ D) ⟹ (C ⊓ ¬D)(x_new)
+            OWLSubClassOfAxiom subClassOfAxiom = (OWLSubClassOfAxiom) axiom;
+            if (!addLiterals(subClassOfAxiom.getSubClass(), positiveClasses, negativeClasses)
+                    || !addLiterals(subClassOfAxiom.getSuperClass().getComplementNNF(),
+                    positiveClasses, negativeClasses)) {
+                return Optional.empty();
+            }
+            return Optional.of(positiveClasses.contains(dataFactory.getOWLNothing())
+                    || !tableau.satisfyingNodeLabels(positiveClasses, negativeClasses).isPresent());
+
+        } else if (axiom.isOfType(AxiomType.CLASS_ASSERTION)) {
+            // ¬C(a) ⟹ (¬C)(a)
+            OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom) axiom;
+            if (!classAssertionAxiom.getIndividual().isNamed()
+                    || !addLiterals(classAssertionAxiom.getClassExpression().getComplementNNF(),
+                    positiveClasses, negativeClasses)) {
+                return Optional.empty();
+            }
+            return Optional.of(positiveClasses.contains(dataFactory.getOWLNothing())
+                    || !tableau.satisfyingNodeLabels(classAssertionAxiom.getIndividual().asOWLNamedIndividual(),
+                    positiveClasses, negativeClasses).isPresent());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * This method splits a conjunction of classes and their complements into the positive and the negative classes.
+     *
+     * @param classExpression A class expression.
+     * @param positiveClasses The set the positive classes are added to.
+     * @param negativeClasses The set the negative classes are added to.
+     * @return <code>false</code> if the class expression is not a conjunction of classes and their complements.
+     */
+    private boolean addLiterals(OWLClassExpression classExpression,
+                                Set<OWLClass> positiveClasses,
+                                Set<OWLClass> negativeClasses) {
+
+        for (OWLClassExpression conjunct : classExpression.asConjunctSet()) {
+            if (conjunct.isOWLThing()) {
+                continue;
+            } else if (conjunct.isOWLClass()) {
+                positiveClasses.add(conjunct.asOWLClass());
+            } else if (conjunct.getClassExpressionType().equals(ClassExpressionType.OBJECT_COMPLEMENT_OF)
+                    && ((OWLObjectComplementOf) conjunct).getOperand().isOWLClass()) {
+                OWLClass operand = ((OWLObjectComplementOf) conjunct).getOperand().asOWLClass();
+                if (operand.isOWLThing()) {
+                    positiveClasses.add(dataFactory.getOWLNothing());
+                } else if (!operand.isOWLNothing()) {
+                    negativeClasses.add(operand);
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method checks the entailment of axioms by adding the clauses of their negations to the tableau. If the
+     * tableau does not support the clauses of a negation, a further tableau is created for it. At most
+     * <code>threads</code> of these tableaux exist at the same time.
+     *
+     * @param axioms      Logical axioms.
+     * @param entailments The map the results are put into.
+     */
+    private void isEntailedWithNegation(List<OWLAxiom> axioms, Map<OWLAxiom, Boolean> entailments) {
+
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        Map<OWLAxiom, ContextTableau> furtherTableaux = new LinkedHashMap<>();
+        try {
+            for (OWLAxiom axiom : axioms) {
+                // The reasoner sets the clauses of the negation as additional DL ontology of its tableau if possible.
+                Tableau negationTableau = reasoner.getTableau(axiom.getAxiomWithoutAnnotations().accept(axiomNegator));
+                if (negationTableau == tableau) {
+                    entailments.put(axiom, !isConsistent(tableau));
+                } else {
+                    furtherTableaux.put(axiom, furtherTableau(negationTableau));
+                    if (furtherTableaux.size() == threads) {
+                        isEntailedOnFurtherTableaux(furtherTableaux, entailments, executor);
+                    }
+                }
+            }
+            isEntailedOnFurtherTableaux(furtherTableaux, entailments, executor);
+        } finally {
+            tableau.clearAdditionalDLOntology();
+            furtherTableaux.values().forEach(ContextTableau::dispose);
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private ContextTableau furtherTableau(Tableau negationTableau) {
+
+        ContextTableau furtherTableau = new ContextTableau(negationTableau, contextOntology, reasonerConfiguration);
+        // Only a meta axiom was added, hence all verdicts and nogoods of the tableau are still valid.
+        furtherTableau.reuseResultsOf(tableau);
+        return furtherTableau;
+    }
+
+    private static void isEntailedOnFurtherTableaux(Map<OWLAxiom, ContextTableau> furtherTableaux,
+                                                    Map<OWLAxiom, Boolean> entailments,
+                                                    ExecutorService executor) {
+
+        List<ContextTableau> tableaux = new ArrayList<>(furtherTableaux.values());
+        List<Boolean> areConsistent = areConsistent(tableaux, executor);
+        int i = 0;
+        for (OWLAxiom axiom : furtherTableaux.keySet()) {
+            entailments.put(axiom, !areConsistent.get(i++));
+        }
+        tableaux.forEach(ContextTableau::dispose);
+        furtherTableaux.clear();
+    }
+
+    /**
+     * @return <code>true</code> if the meta ontology together with the additional DL ontology of the tableau has an
+     * admissible premodel.
+     */
+    private static boolean isConsistent(ContextTableau tableau) {
+
+        return tableau.isSatisfiable(true, true, null, null, null, null, null,
+                ReasoningTaskDescription.isABoxSatisfiable());
+    }
+
+    private static List<Boolean> areConsistent(List<ContextTableau> tableaux, ExecutorService executor) {
+
+        if (executor == null || tableaux.size() <= 1) {
+            return tableaux.stream()
+                    .map(EntailmentChecker::isConsistent)
+                    .collect(Collectors.toList());
+        }
+
+        try {
+            List<Future<Boolean>> futures = executor.invokeAll(tableaux.stream()
+                    .map(furtherTableau -> (Callable<Boolean>) () -> isConsistent(furtherTableau))
+                    .collect(Collectors.toList()));
+            List<Boolean> areConsistent = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                areConsistent.add(future.get());
+            }
+            return areConsistent;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReasonerInterruptedException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
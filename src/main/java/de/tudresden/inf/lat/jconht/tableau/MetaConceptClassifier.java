@@ -0,0 +1,184 @@
+package de.tudresden.inf.lat.jconht.tableau;
+
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * This class computes the subsumption hierarchy of the classes of the meta signature w.r.t. the semantics of the
+ * context ontology. A class A is subsumed by a class B iff A ⊓ ¬B is unsatisfiable.
+ * <p>
+ * Satisfiability tests are avoided as far as possible. Told subsumers of the meta ontology hold in every model, hence
+ * they are never tested. Moreover, every admissible premodel that is found by a test is a model of the meta level, in
+ * which every node is an instance of exactly the classes of its label. Hence, the classes of a label are satisfiable,
+ * and none of them is subsumed by a class outside the label. One premodel thus rules out many candidate subsumers of
+ * many classes at once. All tests run on the same tableau, s.t. the object verdicts and nogoods are shared as well.
+ * <p>
+ * The abstracted meta concepts are not classified, because they are not part of the signature of the root ontology.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class MetaConceptClassifier {
+
+    private final ContextTableau tableau;
+    private final List<OWLClass> classes;
+    private final Map<OWLClass, Set<OWLClass>> toldSubsumers;
+    private final Map<OWLClass, Set<OWLClass>> possibleSubsumers;
+    private final Set<OWLClass> satisfiableClasses;
+    private final int debugOutput;
+    private int satisfiabilityTests;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param tableau The tableau of the context ontology whose meta signature is classified.
+     */
+    public MetaConceptClassifier(ContextTableau tableau) {
+
+        ContextOntology contextOntology = tableau.getContextOntology();
+
+        this.tableau = tableau;
+        this.classes = contextOntology.classesInMetaSignature()
+                .filter(owlClass -> !owlClass.isOWLThing() && !owlClass.isOWLNothing())
+                .filter(owlClass -> !contextOntology.isAbstractedMetaConcept(owlClass))
+                .sorted()
+                .collect(Collectors.toList());
+        this.toldSubsumers = toldSubsumers(contextOntology.getMetaOntology(), new HashSet<>(classes));
+        this.possibleSubsumers = new HashMap<>();
+        this.satisfiableClasses = new HashSet<>();
+        this.debugOutput = contextOntology.getConfiguration().debugOutput();
+    }
+
+    /**
+     * This method classifies the meta signature.
+     *
+     * @return A map from every class of the meta signature to the set of its subsumers, not including the class
+     * itself. An unsatisfiable class is subsumed by every class.
+     */
+    public Map<OWLClass, Set<OWLClass>> classify() {
+
+        Map<OWLClass, Set<OWLClass>> subsumers = new HashMap<>();
+
+        // A premodel of the context ontology itself already shows many classes to be satisfiable.
+        if (!learnFrom(test(Collections.emptySet(), Collections.emptySet()))) {
+            classes.forEach(owlClass -> subsumers.put(owlClass, allClassesBut(owlClass)));
+            return subsumers;
+        }
+
+        // Test the satisfiability of the classes that did not occur in any premodel yet.
+        for (OWLClass owlClass : classes) {
+            if (!satisfiableClasses.contains(owlClass)
+                    && !learnFrom(test(Collections.singleton(owlClass), Collections.emptySet()))) {
+                subsumers.put(owlClass, allClassesBut(owlClass));
+            }
+        }
+
+        // Test the candidate subsumers of the satisfiable classes that are neither told nor ruled out by a premodel.
+        for (OWLClass owlClass : classes) {
+            if (!satisfiableClasses.contains(owlClass)) {
+                continue;
+            }
+            Set<OWLClass> superclasses = new HashSet<>(toldSubsumers.get(owlClass));
+            List<OWLClass> candidates = possibleSubsumers.get(owlClass).stream()
+                    .filter(satisfiableClasses::contains)
+                    .sorted()
+                    .collect(Collectors.toList());
+            for (OWLClass candidate : candidates) {
+                // The possible subsumers shrink with every premodel that is found.
+                if (candidate.equals(owlClass)
+                        || superclasses.contains(candidate)
+                        || !possibleSubsumers.get(owlClass).contains(candidate)) {
+                    continue;
+                }
+                if (!learnFrom(test(Collections.singleton(owlClass), Collections.singleton(candidate)))) {
+                    superclasses.add(candidate);
+                    superclasses.addAll(subsumers.getOrDefault(candidate, toldSubsumers.get(candidate)));
+                }
+            }
+            superclasses.remove(owlClass);
+            subsumers.put(owlClass, superclasses);
+        }
+
+        if (debugOutput > 0) {
+            System.out.println("Classified " + classes.size() + " meta classes with " + satisfiabilityTests
+                    + " satisfiability tests.");
+        }
+        return subsumers;
+    }
+
+    private Optional<Collection<Set<OWLClass>>> test(Set<OWLClass> positiveClasses, Set<OWLClass> negativeClasses) {
+
+        satisfiabilityTests++;
+        return tableau.satisfyingNodeLabels(positiveClasses, negativeClasses);
+    }
+
+    /**
+     * This method records the satisfiable classes and the non-subsumers that are witnessed by an admissible premodel.
+     *
+     * @param nodeLabels The labels of the nodes of an admissible premodel, or Optional.empty() if the test failed.
+     * @return <code>true</code> if the test found an admissible premodel.
+     */
+    private boolean learnFrom(Optional<Collection<Set<OWLClass>>> nodeLabels) {
+
+        if (!nodeLabels.isPresent()) {
+            return false;
+        }
+        for (Set<OWLClass> label : nodeLabels.get()) {
+            for (OWLClass owlClass : label) {
+                if (toldSubsumers.containsKey(owlClass)) {
+                    satisfiableClasses.add(owlClass);
+                    possibleSubsumers.computeIfAbsent(owlClass, key -> new HashSet<>(label)).retainAll(label);
+                }
+            }
+        }
+        return true;
+    }
+
+    private Set<OWLClass> allClassesBut(OWLClass owlClass) {
+
+        Set<OWLClass> allClasses = new HashSet<>(classes);
+        allClasses.remove(owlClass);
+        return allClasses;
+    }
+
+    /**
+     * This method computes the told subsumers of the given classes, i.e. the transitive closure of the subclass and
+     * equivalent classes axioms between them.
+     *
+     * @param metaOntology The meta ontology.
+     * @param classes      The classes of the meta signature.
+     * @return A map from every class to its told subsumers.
+     */
+    private static Map<OWLClass, Set<OWLClass>> toldSubsumers(OWLOntology metaOntology, Set<OWLClass> classes) {
+
+        Map<OWLClass, Set<OWLClass>> directSubsumers = new HashMap<>();
+        metaOntology.axioms(AxiomType.SUBCLASS_OF)
+                .filter(axiom -> classes.contains(axiom.getSubClass()) && classes.contains(axiom.getSuperClass()))
+                .forEach(axiom -> directSubsumers.computeIfAbsent(axiom.getSubClass().asOWLClass(),
+                        owlClass -> new HashSet<>()).add(axiom.getSuperClass().asOWLClass()));
+        metaOntology.axioms(AxiomType.EQUIVALENT_CLASSES)
+                .map(axiom -> axiom.namedClasses().filter(classes::contains).collect(Collectors.toList()))
+                .forEach(equivalentClasses -> equivalentClasses.forEach(owlClass ->
+                        directSubsumers.computeIfAbsent(owlClass, key -> new HashSet<>()).addAll(equivalentClasses)));
+
+        Map<OWLClass, Set<OWLClass>> toldSubsumers = new HashMap<>();
+        for (OWLClass owlClass : classes) {
+            Set<OWLClass> subsumers = new HashSet<>();
+            Deque<OWLClass> queue = new ArrayDeque<>(directSubsumers.getOrDefault(owlClass, Collections.emptySet()));
+            while (!queue.isEmpty()) {
+                OWLClass subsumer = queue.pop();
+                if (subsumers.add(subsumer)) {
+                    queue.addAll(directSubsumers.getOrDefault(subsumer, Collections.emptySet()));
+                }
+            }
+            subsumers.remove(owlClass);
+            toldSubsumers.put(owlClass, subsumers);
+        }
+        return toldSubsumers;
+    }
+}
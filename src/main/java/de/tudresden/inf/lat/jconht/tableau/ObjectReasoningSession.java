@@ -0,0 +1,155 @@
+package de.tudresden.inf.lat.jconht.tableau;
+
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.ContextOntologyException;
+import de.tudresden.inf.lat.jconht.model.ReasoningMetrics;
+import de.tudresden.inf.lat.jconht.model.RestrictedType;
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
+import org.semanticweb.HermiT.tableau.Tableau;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
+
+import java.util.Collections;
+import java.util.stream.Stream;
+
+/**
+ * This class describes an object reasoner that is reused for checking the object ontologies of many restricted types.
+ * <p>
+ * The global object ontology is clausified only once, when the session is created. For each type, only the object
+ * axioms induced by the type are clausified and loaded into HermiT's tableau as additional DL ontology. If HermiT
+ * cannot handle the type's axioms as additional ontology, a reasoner for the complete object ontology is created.
+ * <p>
+ * A session must not be used by several threads at the same time.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class ObjectReasoningSession {
+
+    private final ContextOntology contextOntology;
+    private final OWLOntology globalObjectOntology;
+    private final Reasoner globalReasoner;
+    private final boolean globalObjectOntologyIsConsistent;
+    private volatile Reasoner currentReasoner;
+    private volatile boolean interrupted;
+    private Tableau lastTableau;
+
+    /**
+     * This is the standard constructor. It clausifies the global object ontology of the given context ontology.
+     *
+     * @param contextOntology The context ontology whose object ontologies are checked.
+     */
+    public ObjectReasoningSession(ContextOntology contextOntology) {
+
+        this.contextOntology = contextOntology;
+
+        this.globalObjectOntology = contextOntology.getObjectOntology(Stream.empty(), Stream.empty());
+        if (globalObjectOntology == null) {
+            throw new ContextOntologyException("\nCould not construct global object ontology.");
+        }
+        this.globalReasoner = new Reasoner(new Configuration(), globalObjectOntology);
+        contextOntology.getMetrics().increment(ReasoningMetrics.Counter.OBJECT_REASONERS);
+        this.globalObjectOntologyIsConsistent = globalReasoner.isConsistent();
+    }
+
+    /**
+     * This method checks whether the object ontology of a restricted type is consistent.
+     *
+     * @param restrictedType A restricted type.
+     * @return <code>true</code> if the global object ontology together with the axioms induced by the type is
+     * consistent.
+     * @throws ReasonerInterruptedException if the session is interrupted.
+     */
+    public boolean isConsistent(RestrictedType restrictedType) {
+
+        if (interrupted) {
+            throw new ReasonerInterruptedException("The object reasoning session was interrupted.");
+        }
+        if (!globalObjectOntologyIsConsistent) {
+            lastTableau = globalReasoner.getTableau();
+            return false;
+        }
+
+        OWLAxiom[] typeAxioms = contextOntology.objectAxiomsOfType(restrictedType).toArray(OWLAxiom[]::new);
+
+        Tableau tableau;
+        OWLOntology objectOntology = null;
+        try {
+            // Only the axioms of the type are clausified; the tableau keeps the clauses of the global ontology.
+            tableau = globalReasoner.getTableau(typeAxioms);
+            currentReasoner = globalReasoner;
+        } catch (IllegalArgumentException e) {
+            // HermiT does not support these axioms in an additional ontology, e.g. role inclusions.
+            objectOntology = contextOntology.getObjectOntology(Collections.singletonList(restrictedType));
+            currentReasoner = new Reasoner(new Configuration(), objectOntology);
+            contextOntology.getMetrics().increment(ReasoningMetrics.Counter.OBJECT_REASONERS);
+            tableau = currentReasoner.getTableau();
+        }
+
+        try {
+            // An interrupt that arrived before the reasoner was published has not reached HermiT.
+            if (interrupted) {
+                throw new ReasonerInterruptedException("The object reasoning session was interrupted.");
+            }
+            lastTableau = tableau;
+            return tableau.isSatisfiable(true, true, null, null, null, null, null,
+                    ReasoningTaskDescription.isABoxSatisfiable());
+        } finally {
+            if (currentReasoner != globalReasoner) {
+                currentReasoner.dispose();
+                contextOntology.releaseObjectOntology(objectOntology);
+            }
+            currentReasoner = null;
+        }
+    }
+
+    /**
+     * @return The tableau of the last check, e.g. for inspecting the object model that was found.
+     */
+    public Tableau getLastTableau() {
+
+        return lastTableau;
+    }
+
+    /**
+     * This method interrupts a running check. Further checks are interrupted immediately, until
+     * <code>clearInterrupt()</code> is called.
+     */
+    public void interrupt() {
+
+        interrupted = true;
+        Reasoner reasoner = currentReasoner;
+        if (reasoner != null) {
+            reasoner.interrupt();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the session was interrupted.
+     */
+    public boolean wasInterrupted() {
+
+        return interrupted;
+    }
+
+    /**
+     * This method allows checks again after <code>interrupt()</code> was called. HermiT resets the interrupt flag of
+     * the tableau at the start of every check, hence the clausified global object ontology can be reused.
+     */
+    public void clearInterrupt() {
+
+        interrupted = false;
+    }
+
+    /**
+     * This method releases the reasoner and the global object ontology of this session.
+     */
+    public void dispose() {
+
+        globalReasoner.dispose();
+        contextOntology.releaseObjectOntology(globalObjectOntology);
+    }
+}
@@ -0,0 +1,206 @@
+package de.tudresden.inf.lat.jconht.tableau;
+
+import de.tudresden.inf.lat.jconht.model.RestrictedType;
+import org.semanticweb.owlapi.model.OWLClass;
+
+import java.util.*;
+
+/**
+ * This class caches whether the object ontology of a restricted type is consistent.
+ * <p>
+ * The cache holds at most a fixed number of types. If it is full, the least recently used type is evicted.
+ * <p>
+ * The consistency of object ontologies is monotone in the type: a type has more object axioms than each of its
+ * subtypes. Hence, a type is consistent if it is a subtype of a consistent type, and it is inconsistent if it contains
+ * an inconsistent type. For that, the cache additionally keeps the maximal consistent and the minimal inconsistent
+ * types as bit sets, which are searched if a type is not cached itself. The lattices only contain cached types, i.e.
+ * a type that is evicted from the cache is also removed from the lattices.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class TypeCache {
+
+    private final Map<RestrictedType, Boolean> verdicts;
+    private final int maximumSize;
+    private final Map<OWLClass, Integer> conceptIds;
+    private final List<long[]> maximalConsistentTypes;
+    private final List<long[]> minimalInconsistentTypes;
+    private long hits;
+    private long latticeHits;
+    private long misses;
+
+    /**
+     * This is the standard constructor.
+     *
+     * @param maximumSize The maximal number of types that are cached. If it is 0, nothing is cached.
+     */
+    public TypeCache(int maximumSize) {
+
+        this.maximumSize = maximumSize;
+        this.conceptIds = new HashMap<>();
+        this.maximalConsistentTypes = new ArrayList<>();
+        this.minimalInconsistentTypes = new ArrayList<>();
+        this.verdicts = new LinkedHashMap<RestrictedType, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RestrictedType, Boolean> eldest) {
+                if (size() > maximumSize) {
+                    long[] bits = toBits(eldest.getKey());
+                    (eldest.getValue() ? maximalConsistentTypes : minimalInconsistentTypes)
+                            .removeIf(other -> isSubset(bits, other) && isSubset(other, bits));
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * This method looks up the cached verdict for a restricted type.
+     *
+     * @param restrictedType A restricted type.
+     * @return The cached verdict, or Optional.empty() if the type has not been checked yet.
+     */
+    public synchronized Optional<Boolean> lookup(RestrictedType restrictedType) {
+
+        Boolean verdict = verdicts.get(restrictedType);
+        if (verdict != null) {
+            hits++;
+            return Optional.of(verdict);
+        }
+
+        if (maximumSize > 0) {
+            long[] bits = toBits(restrictedType);
+            for (long[] inconsistentType : minimalInconsistentTypes) {
+                if (isSubset(inconsistentType, bits)) {
+                    latticeHits++;
+                    return Optional.of(false);
+                }
+            }
+            for (long[] consistentType : maximalConsistentTypes) {
+                if (isSubset(bits, consistentType)) {
+                    latticeHits++;
+                    return Optional.of(true);
+                }
+            }
+        }
+
+        misses++;
+        return Optional.empty();
+    }
+
+    /**
+     * This method stores the verdict for a restricted type.
+     *
+     * @param restrictedType A restricted type.
+     * @param isConsistent   <code>true</code> if the object ontology of the type is consistent.
+     */
+    public synchronized void store(RestrictedType restrictedType, boolean isConsistent) {
+
+        verdicts.put(restrictedType, isConsistent);
+
+        if (maximumSize > 0) {
+            long[] bits = toBits(restrictedType);
+            if (isConsistent) {
+                addToAntichain(maximalConsistentTypes, bits, false);
+            } else {
+                addToAntichain(minimalInconsistentTypes, bits, true);
+            }
+        }
+    }
+
+    /**
+     * @return A copy of the cached verdicts, from the least to the most recently used type.
+     */
+    public synchronized Map<RestrictedType, Boolean> verdicts() {
+
+        return new LinkedHashMap<>(verdicts);
+    }
+
+    public synchronized void clear() {
+
+        verdicts.clear();
+        conceptIds.clear();
+        maximalConsistentTypes.clear();
+        minimalInconsistentTypes.clear();
+    }
+
+    public synchronized int size() {
+
+        return verdicts.size();
+    }
+
+    public synchronized long hits() {
+
+        return hits;
+    }
+
+    public synchronized long misses() {
+
+        return misses;
+    }
+
+    /**
+     * @return The number of lookups that were answered by a consistent supertype or an inconsistent subtype.
+     */
+    public synchronized long latticeHits() {
+
+        return latticeHits;
+    }
+
+    /**
+     * This method adds a type to a set of pairwise incomparable types. If <code>minimal</code> is <code>true</code>,
+     * the set keeps the minimal types, i.e. the type is not added if it contains a type of the set, and the types of
+     * the set that contain it are removed. Otherwise, the set keeps the maximal types.
+     */
+    private void addToAntichain(List<long[]> antichain, long[] bits, boolean minimal) {
+
+        for (long[] other : antichain) {
+            if (minimal ? isSubset(other, bits) : isSubset(bits, other)) {
+                return;
+            }
+        }
+        antichain.removeIf(other -> minimal ? isSubset(bits, other) : isSubset(other, bits));
+        antichain.add(bits);
+    }
+
+    /**
+     * This method encodes a type as bit set. The positive and negative occurrences of a meta concept are two
+     * different bits, s.t. subtypes are exactly the subsets.
+     */
+    private long[] toBits(RestrictedType restrictedType) {
+
+        List<Integer> indices = new ArrayList<>();
+        restrictedType.positiveConcepts().forEach(metaConcept -> indices.add(2 * conceptId(metaConcept)));
+        restrictedType.negativeConcepts().forEach(metaConcept -> indices.add(2 * conceptId(metaConcept) + 1));
+
+        long[] bits = new long[(2 * conceptIds.size() + 63) / 64];
+        for (int index : indices) {
+            bits[index / 64] |= 1L << (index % 64);
+        }
+        return bits;
+    }
+
+    private int conceptId(OWLClass metaConcept) {
+
+        return conceptIds.computeIfAbsent(metaConcept, owlClass -> conceptIds.size());
+    }
+
+    private static boolean isSubset(long[] subset, long[] superset) {
+
+        for (int i = 0; i < subset.length; i++) {
+            if ((subset[i] & ~(i < superset.length ? superset[i] : 0L)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized String toString() {
+
+        return "TypeCache: " + verdicts.size() + " types, " + maximalConsistentTypes.size() + " maximal consistent, "
+                + minimalInconsistentTypes.size() + " minimal inconsistent, " + hits + " hits, " + latticeHits
+                + " lattice hits, " + misses + " misses";
+    }
+}
@@ -0,0 +1,251 @@
+package de.tudresden.inf.lat.jconht.tableau;
+
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.ContextOntologyException;
+import de.tudresden.inf.lat.jconht.model.RestrictedType;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.util.SimpleRenderer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class stores whether the object ontology of a restricted type is consistent in a file, s.t. the verdicts are
+ * reused by later runs.
+ * <p>
+ * A verdict is keyed by a SHA-256 hash of the global object ontology and the object axioms selected by the type. The
+ * axioms are rendered with full IRIs and sorted, s.t. the key does not depend on the order of the axioms or on the
+ * prefixes of the ontology document. Each axiom is prefixed by its polarity. Negative meta concepts and dual classes
+ * are keyed by the object axiom of the original class and not by its negation, because the negation introduces fresh
+ * anonymous individuals. The node IDs of anonymous individuals differ in every run, hence they are replaced by
+ * canonical names that are numbered in the order of the sorted axioms. An anonymous individual that occurs in the
+ * global object ontology keeps its name in the object axioms of all types. Hence, a verdict is reused for every
+ * context ontology with the same global object ontology and the same object axioms, and edits elsewhere do not
+ * invalidate it.
+ * <p>
+ * The verdicts are appended to the file <code>verdicts.tsv</code> in the given directory, one line per verdict, and
+ * the file is read completely when the store is opened. Several stores may append to the same file at the same time.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class VerdictStore {
+
+    private static final String FILE_NAME = "verdicts.tsv";
+    private static final String KEY_VERSION = "jconht-verdict-3";
+
+    private final ContextOntology contextOntology;
+    private final Path file;
+    private final Map<String, Boolean> verdicts;
+    private final String globalObjectOntologyHash;
+    private final Map<OWLAnonymousIndividual, OWLAnonymousIndividual> globalAnonymousIndividuals;
+    private OutputStream outputStream;
+
+    /**
+     * This is the standard constructor. It reads all verdicts that are stored in the given directory.
+     *
+     * @param directory       The directory of the verdict file. It is created if it does not exist.
+     * @param contextOntology The context ontology whose object ontologies are checked.
+     * @throws ContextOntologyException if the verdict file cannot be read.
+     */
+    public VerdictStore(File directory, ContextOntology contextOntology) {
+
+        this.contextOntology = contextOntology;
+        this.file = directory.toPath().resolve(FILE_NAME);
+        this.verdicts = new ConcurrentHashMap<>();
+        this.globalAnonymousIndividuals = new HashMap<>();
+        this.globalObjectOntologyHash = sha256(render(
+                contextOntology.globalObjectOntology().map(axiom -> new AbstractMap.SimpleImmutableEntry<>("", axiom)),
+                new CanonicalRenderer(globalAnonymousIndividuals)));
+
+        try {
+            Files.createDirectories(directory.toPath());
+            if (Files.exists(file)) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        // A line that was cut off by a crashed run is skipped.
+                        String[] columns = line.split("\t");
+                        if (columns.length == 2 && (columns[1].equals("1") || columns[1].equals("0"))) {
+                            verdicts.put(columns[0], columns[1].equals("1"));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new ContextOntologyException("\nCould not read the verdict store " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method looks up the stored verdict for a restricted type.
+     *
+     * @param restrictedType A restricted type.
+     * @return The stored verdict, or Optional.empty() if the type has not been checked by any run yet.
+     */
+    public Optional<Boolean> lookup(RestrictedType restrictedType) {
+
+        return Optional.ofNullable(verdicts.get(keyOf(restrictedType)));
+    }
+
+    /**
+     * This method stores the verdict for a restricted type and appends it to the verdict file. If the file cannot be
+     * written, a warning is printed and the verdict is only kept for this run.
+     *
+     * @param restrictedType A restricted type.
+     * @param isConsistent   <code>true</code> if the object ontology of the type is consistent.
+     */
+    public void store(RestrictedType restrictedType, boolean isConsistent) {
+
+        String key = keyOf(restrictedType);
+        if (verdicts.put(key, isConsistent) == null) {
+            append(key + "\t" + (isConsistent ? "1" : "0") + "\n");
+        }
+    }
+
+    /**
+     * @return The number of known verdicts, including those of earlier runs.
+     */
+    public int size() {
+
+        return verdicts.size();
+    }
+
+    /**
+     * This method closes the verdict file. Verdicts that are stored afterwards reopen it.
+     */
+    public synchronized void close() {
+
+        if (outputStream != null) {
+            try {
+                outputStream.close();
+            } catch (IOException e) {
+                System.err.println("Could not close the verdict store " + file + ": " + e.getMessage());
+            }
+            outputStream = null;
+        }
+    }
+
+    private synchronized void append(String line) {
+
+        try {
+            if (outputStream == null) {
+                outputStream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            // Each line is written at once, s.t. lines of concurrent writers are not interleaved.
+            outputStream.write(line.getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+        } catch (IOException e) {
+            System.err.println("Could not write to the verdict store " + file + ": " + e.getMessage());
+        }
+    }
+
+    private String keyOf(RestrictedType restrictedType) {
+
+        // Each object axiom is rendered on its own line with its polarity as prefix. Dual classes are rendered by the
+        // object axiom of their original class with the opposite polarity, because their negated axioms contain fresh
+        // individuals that differ in every run. The renderer is not thread-safe, hence a new one is used for every key.
+        Stream<Map.Entry<String, OWLAxiom>> lines = Stream.concat(
+                restrictedType.positiveConcepts().map(metaConcept -> lineOf(metaConcept, true)),
+                restrictedType.negativeConcepts().map(metaConcept -> lineOf(metaConcept, false)))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+        return sha256(KEY_VERSION + "\n" + globalObjectOntologyHash + "\n"
+                + render(lines, new CanonicalRenderer(new HashMap<>(globalAnonymousIndividuals))));
+    }
+
+    private Optional<Map.Entry<String, OWLAxiom>> lineOf(OWLClass metaConcept, boolean isPositive) {
+
+        return contextOntology.originalObjectAxiomOf(metaConcept)
+                .map(axiom -> new AbstractMap.SimpleImmutableEntry<>(
+                        isPositive != contextOntology.isNegatedMetaConcept(metaConcept) ? "+" : "-", axiom));
+    }
+
+    /**
+     * This method renders the given axioms with their prefixes as sorted lines. The anonymous individuals are named in
+     * the order of the lines, which are sorted by their rendering without the names of the anonymous individuals
+     * first. Hence, the result does not depend on the node IDs of the anonymous individuals.
+     */
+    private static String render(Stream<Map.Entry<String, OWLAxiom>> lines, CanonicalRenderer renderer) {
+
+        renderer.isMasking = true;
+        List<Map.Entry<String, OWLAxiom>> sortedLines = lines
+                .map(line -> new AbstractMap.SimpleImmutableEntry<>(line.getKey() + renderer.render(line.getValue()),
+                        line))
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+
+        renderer.isMasking = false;
+        return sortedLines.stream()
+                .map(line -> line.getKey() + escape(renderer.render(line.getValue())))
+                .sorted()
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * @return The string with escaped line breaks, s.t. each rendered axiom is a single line of the key.
+     */
+    private static String escape(String string) {
+
+        return string.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    /**
+     * This renderer replaces the anonymous individuals by canonical names, which are assigned in the order in which
+     * the anonymous individuals are rendered first. In masking mode, all anonymous individuals are rendered alike.
+     */
+    private static class CanonicalRenderer extends SimpleRenderer {
+
+        private static final OWLAnonymousIndividual MASK =
+                OWLManager.getOWLDataFactory().getOWLAnonymousIndividual("_:*");
+
+        private final Map<OWLAnonymousIndividual, OWLAnonymousIndividual> canonicalIndividuals;
+        private boolean isMasking;
+
+        private CanonicalRenderer(Map<OWLAnonymousIndividual, OWLAnonymousIndividual> canonicalIndividuals) {
+
+            this.canonicalIndividuals = canonicalIndividuals;
+        }
+
+        @Override
+        public void visit(OWLAnonymousIndividual individual) {
+
+            if (isMasking) {
+                super.visit(MASK);
+            } else {
+                super.visit(canonicalIndividuals.computeIfAbsent(individual, anonymousIndividual ->
+                        OWLManager.getOWLDataFactory().getOWLAnonymousIndividual("_:c" + canonicalIndividuals.size())));
+            }
+        }
+    }
+
+    private static String sha256(String string) {
+
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(string.getBytes(StandardCharsets.UTF_8))) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256, hence this should never happen!
+            throw new IllegalStateException(e);
+        }
+    }
+}
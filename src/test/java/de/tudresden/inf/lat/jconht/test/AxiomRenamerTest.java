@@ -107,6 +107,29 @@ public class AxiomRenamerTest {
 
     }
 
+    @Test
+    public void testRenameForSeveralIndices() throws Exception {
+        System.out.println("Executing testRenameForSeveralIndices:");
+
+        Set<OWLEntity> flexibleNames = new HashSet<>(Arrays.asList(clsC, roleR));
+        AxiomRenamer renamer = new AxiomRenamer(manager, flexibleNames);
+
+        assertEquals(dataFactory.getOWLSubClassOfAxiom(clsA, dataFactory.getOWLClass("cls:C_1")),
+                renamer.rename(ax2, 1));
+        assertEquals(dataFactory.getOWLSubClassOfAxiom(clsA, dataFactory.getOWLClass("cls:C_2")),
+                renamer.rename(ax2, 2));
+        assertEquals(dataFactory.getOWLSubClassOfAxiom(
+                dataFactory.getOWLObjectSomeValuesFrom(
+                        dataFactory.getOWLObjectProperty("rol:r_1"),
+                        dataFactory.getOWLClass("cls:C_1")),
+                dataFactory.getOWLObjectAllValuesFrom(
+                        dataFactory.getOWLObjectProperty("rol:r_1"),
+                        dataFactory.getOWLClass("cls:C_1"))),
+                renamer.rename(ax4, 1));
+        // Axioms without flexible names are not copied.
+        assertTrue(ax1 == renamer.rename(ax1, 1));
+    }
+
     //todo Angenommen in original onto ist C ⊑ D, beide non-rigid (und es gibt mehrere Meta-Welten).
     // Dann muss es C1 ⊑ D1, C2 ⊑ D2, usw geben, aber nicht C1 ⊑ D2. Kann man das irgendwie testen? Ist
     // ja nur syntaktisch.
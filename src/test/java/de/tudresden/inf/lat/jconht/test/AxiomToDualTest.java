@@ -1,17 +1,26 @@
 package de.tudresden.inf.lat.jconht.test;
 
 import de.tudresden.inf.lat.jconht.model.AxiomToDual;
+import de.tudresden.inf.lat.jconht.model.LinearDualizer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * This class ...
  *
@@ -53,5 +62,51 @@ public class AxiomToDualTest {
 
     }
 
+    @Test
+    public void testLinearDualization() throws Exception {
+        System.out.println("Executing testLinearDualization:");
+
+        OWLClass a = dataFactory.getOWLClass("http://www.example.org#A");
+        OWLClass b = dataFactory.getOWLClass("http://www.example.org#B");
+        OWLClass c = dataFactory.getOWLClass("http://www.example.org#C");
+        OWLClass dualA = dataFactory.getOWLClass("http://www.example.org#DUAL.A");
+        OWLClass dualB = dataFactory.getOWLClass("http://www.example.org#DUAL.B");
+        LinearDualizer dualizer = new LinearDualizer(dataFactory, Stream.of(a, b).collect(Collectors.toSet()));
+
+        // A ⊑ B ⊔ C  yields  A ⊔ ¬A* ⊑ (B ⊓ ¬B*) ⊔ C
+        OWLAxiom axiom = dataFactory.getOWLSubClassOfAxiom(a, dataFactory.getOWLObjectUnionOf(b, c));
+        OWLAxiom dualAxiom = dataFactory.getOWLSubClassOfAxiom(
+                dataFactory.getOWLObjectUnionOf(a, dataFactory.getOWLObjectComplementOf(dualA)),
+                dataFactory.getOWLObjectUnionOf(
+                        dataFactory.getOWLObjectIntersectionOf(b, dataFactory.getOWLObjectComplementOf(dualB)),
+                        c));
+        System.out.println(axiom);
+        assertEquals(Optional.of(Collections.singletonList(dualAxiom)), dualizer.dualize(axiom));
+
+        // A ⊓ ¬A ⊑ C contains A with both polarities, hence A is dualized by the powerset expansion
+        OWLAxiom bothPolarities = dataFactory.getOWLSubClassOfAxiom(
+                dataFactory.getOWLObjectIntersectionOf(a, dataFactory.getOWLObjectComplementOf(a)),
+                c);
+        assertEquals(Optional.of(Collections.singletonList(
+                bothPolarities.accept(new AxiomToDual(dataFactory, Collections.singleton(a))))),
+                dualizer.dualize(bothPolarities));
+
+        // ∃r.A ⊓ B ⊑ C contains A below a restriction, hence only B is dualized linearly
+        OWLObjectProperty r = dataFactory.getOWLObjectProperty("http://www.example.org#r");
+        OWLAxiom belowRestriction = dataFactory.getOWLSubClassOfAxiom(
+                dataFactory.getOWLObjectIntersectionOf(dataFactory.getOWLObjectSomeValuesFrom(r, a), b),
+                c);
+        OWLClassExpression dualOfB = dataFactory.getOWLObjectUnionOf(b, dataFactory.getOWLObjectComplementOf(dualB));
+        assertEquals(Stream.of(
+                dataFactory.getOWLSubClassOfAxiom(
+                        dataFactory.getOWLObjectIntersectionOf(dataFactory.getOWLObjectSomeValuesFrom(r, a), dualOfB),
+                        c),
+                dataFactory.getOWLSubClassOfAxiom(
+                        dataFactory.getOWLObjectIntersectionOf(dataFactory.getOWLObjectSomeValuesFrom(r,
+                                dataFactory.getOWLObjectComplementOf(dualA)), dualOfB),
+                        c)).collect(Collectors.toSet()),
+                new HashSet<>(dualizer.dualize(belowRestriction).orElse(Collections.emptyList())));
+    }
+
     // TODO noch viele Tests!!!!!
 }
\ No newline at end of file
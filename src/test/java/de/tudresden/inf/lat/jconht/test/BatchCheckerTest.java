@@ -0,0 +1,75 @@
+package de.tudresden.inf.lat.jconht.test;
+
+import de.tudresden.inf.lat.jconht.BatchChecker;
+import de.tudresden.inf.lat.jconht.model.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is a test class for <code>BatchChecker</code>.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class BatchCheckerTest {
+
+    private ByteArrayOutputStream output;
+    private BatchChecker batchChecker;
+
+    @Before
+    public void setUp() throws Exception {
+
+        output = new ByteArrayOutputStream();
+        batchChecker = new BatchChecker(() -> new Configuration(true, 0, false, false), 0, 2,
+                new PrintStream(output, true, "UTF-8"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+    }
+
+    @Test
+    public void testCheckAll() throws Exception {
+        System.out.println("Executing testCheckAll:");
+
+        List<File> files = Arrays.asList(
+                new File("input/hermit-testonto-2.owl"),
+                new File("input/doesNotExist.owl"));
+
+        assertEquals(1, batchChecker.checkAll(files));
+
+        List<String> lines = Arrays.asList(output.toString("UTF-8").trim().split("\n"));
+        System.out.println(lines);
+        assertEquals(2, lines.size());
+        for (String line : lines) {
+            String[] columns = line.split("\t");
+            assertTrue(columns.length >= 4);
+            if (columns[0].endsWith("doesNotExist.owl")) {
+                assertEquals("error", columns[1]);
+            } else {
+                assertTrue(columns[1].equals("consistent") || columns[1].equals("inconsistent"));
+            }
+        }
+    }
+
+    @Test
+    public void testCollectFiles() throws Exception {
+        System.out.println("Executing testCollectFiles:");
+
+        List<File> files = BatchChecker.collectFiles(Arrays.asList("input", "input/Bank.owl"));
+
+        assertTrue(files.contains(new File("input/hermit-testonto-2.owl")));
+        assertEquals(new File("input/Bank.owl"), files.get(files.size() - 1));
+        assertFalse(files.contains(new File("input/CromMapperTest")));
+    }
+}
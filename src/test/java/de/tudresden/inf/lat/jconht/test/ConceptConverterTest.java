@@ -0,0 +1,74 @@
+package de.tudresden.inf.lat.jconht.test;
+
+import de.tudresden.inf.lat.jconht.model.ConceptConverter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.HermiT.model.*;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is a test class for the conversion of HermiT concepts to OWL class expressions.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class ConceptConverterTest {
+
+    private OWLDataFactory dataFactory;
+    private ConceptConverter conceptConverter;
+    private OWLClass clsA;
+    private OWLObjectProperty roleR;
+
+    @Before
+    public void setUp() throws Exception {
+
+        dataFactory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+        conceptConverter = new ConceptConverter(dataFactory);
+        clsA = dataFactory.getOWLClass("http://example.org/A");
+        roleR = dataFactory.getOWLObjectProperty("http://example.org/r");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        dataFactory.purge();
+    }
+
+    @Test
+    public void testConversion() throws Exception {
+        System.out.println("Executing testConversion:");
+
+        AtomicConcept conceptA = AtomicConcept.create("http://example.org/A");
+        AtomicRole atomicRoleR = AtomicRole.create("http://example.org/r");
+
+        assertEquals(clsA, conceptConverter.toOWLClassExpression(conceptA));
+        assertEquals(dataFactory.getOWLObjectComplementOf(clsA),
+                conceptConverter.toOWLClassExpression(AtomicNegationConcept.create(conceptA)));
+        assertEquals(dataFactory.getOWLObjectMinCardinality(2, dataFactory.getOWLObjectInverseOf(roleR), clsA),
+                conceptConverter.toOWLClassExpression(
+                        AtLeastConcept.create(2, InverseRole.create(atomicRoleR), conceptA)));
+    }
+
+    @Test
+    public void testMemoisation() throws Exception {
+        System.out.println("Executing testMemoisation:");
+
+        AtomicConcept conceptA = AtomicConcept.create("http://example.org/A");
+        Concept concept = AtLeastConcept.create(1, AtomicRole.create("http://example.org/r"), conceptA);
+
+        // Each HermiT concept is converted only once.
+        OWLClassExpression classExpression = conceptConverter.toOWLClassExpression(concept);
+        assertSame(classExpression, conceptConverter.toOWLClassExpression(concept));
+
+        // The reverse conversion yields HermiT's interned atomic concept.
+        assertSame(conceptA, conceptConverter.toAtomicConcept(clsA));
+        assertSame(conceptConverter.toAtomicConcept(clsA), conceptConverter.toAtomicConcept(clsA));
+    }
+}
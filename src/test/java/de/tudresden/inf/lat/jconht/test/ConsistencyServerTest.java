@@ -0,0 +1,93 @@
+package de.tudresden.inf.lat.jconht.test;
+
+import de.tudresden.inf.lat.jconht.ConsistencyServer;
+import de.tudresden.inf.lat.jconht.model.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is a test class for <code>ConsistencyServer</code>.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class ConsistencyServerTest {
+
+    private ConsistencyServer server;
+
+    @Before
+    public void setUp() throws Exception {
+
+        server = new ConsistencyServer(0, 2, 4, 60, () -> new Configuration(true, 0, false, false));
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        server.stop();
+    }
+
+    @Test
+    public void testCheckAndMetrics() throws Exception {
+        System.out.println("Executing testCheckAndMetrics:");
+
+        byte[] ontology = Files.readAllBytes(Paths.get("input/hermit-testonto-2.owl"));
+
+        // The second request is answered by the kept reasoner.
+        for (int i = 0; i < 2; i++) {
+            HttpURLConnection connection = connect("/check");
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(ontology);
+            }
+            assertEquals(200, connection.getResponseCode());
+            String response = read(connection.getInputStream());
+            System.out.println(response);
+            assertTrue(response.startsWith("result: consistent") || response.startsWith("result: inconsistent"));
+        }
+
+        HttpURLConnection connection = connect("/check");
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write("this is not an ontology".getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(400, connection.getResponseCode());
+
+        String metrics = read(connect("/metrics").getInputStream());
+        System.out.println(metrics);
+        assertTrue(metrics.contains("jconht_request_latency_ms_count 3"));
+        assertTrue(metrics.contains("jconht_requests_total{result=\"error\"} 1"));
+        assertTrue(metrics.contains("jconht_cached_reasoners 1"));
+    }
+
+    private HttpURLConnection connect(String path) throws Exception {
+
+        return (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+    }
+
+    private static String read(InputStream inputStream) throws Exception {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
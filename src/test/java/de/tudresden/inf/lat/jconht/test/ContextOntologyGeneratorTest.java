@@ -0,0 +1,98 @@
+package de.tudresden.inf.lat.jconht.test;
+
+import de.tudresden.inf.lat.jconht.model.Configuration;
+import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.ContextOntologyGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.io.File;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is a test class for the generator of random context ontologies.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class ContextOntologyGeneratorTest {
+
+    private OWLOntologyManager manager;
+    private OWLDataFactory dataFactory;
+
+    @Before
+    public void setUp() throws Exception {
+
+        manager = OWLManager.createOWLOntologyManager();
+        dataFactory = manager.getOWLDataFactory();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        dataFactory.purge();
+        manager.clearOntologies();
+    }
+
+    @Test
+    public void testGeneratedSizes() throws Exception {
+        System.out.println("Executing testGeneratedSizes:");
+
+        OWLOntology ontology = new ContextOntologyGenerator(manager)
+                .setNumberOfMetaConcepts(20)
+                .setNumberOfGlobalAxioms(3)
+                .setNumberOfRigidConcepts(2)
+                .generate();
+        ContextOntology contextOntology = new ContextOntology(ontology, new Configuration(0));
+
+        // The dual classes of the meta concepts are abstracted meta concepts as well.
+        assertEquals(20, contextOntology.outerAbstractedMetaConcepts()
+                .filter(metaConcept -> !contextOntology.isNegatedMetaConcept(metaConcept))
+                .count());
+        // Equal global axioms might be generated, which are contained only once.
+        assertTrue(contextOntology.globalObjectOntology().count() > 0);
+        assertTrue(contextOntology.containsRigidNames());
+    }
+
+    @Test
+    public void testSameSeedSameOntology() throws Exception {
+        System.out.println("Executing testSameSeedSameOntology:");
+
+        ContextOntologyGenerator generator = new ContextOntologyGenerator(manager)
+                .setSeed(42)
+                .setDisjunctionDensity(0.5);
+
+        OWLOntology ontology1 = generator.generate();
+        OWLOntology ontology2 = generator.generate();
+
+        assertEquals(ontology1.axioms().collect(Collectors.toSet()), ontology2.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        System.out.println("Executing testSaveAndLoad:");
+
+        ContextOntologyGenerator generator = new ContextOntologyGenerator(manager).setNumberOfRigidRoles(1);
+        OWLOntology ontology = generator.generate();
+
+        for (boolean owlXML : new boolean[]{true, false}) {
+            File file = File.createTempFile("generated", ".owl");
+            file.deleteOnExit();
+            generator.save(ontology, file, owlXML);
+
+            OWLOntologyManager otherManager = OWLManager.createOWLOntologyManager();
+            OWLOntology loadedOntology = otherManager.loadOntologyFromOntologyDocument(file);
+
+            // The annotations that identify object axioms must be saved as well.
+            assertEquals(ontology.logicalAxioms().collect(Collectors.toSet()),
+                    loadedOntology.logicalAxioms().collect(Collectors.toSet()));
+        }
+    }
+}
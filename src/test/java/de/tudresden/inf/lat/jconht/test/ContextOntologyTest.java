@@ -483,8 +483,44 @@ public class ContextOntologyTest {
         assertFalse(contextOntology.rigidClasses().anyMatch(cls -> cls.equals(clsB)));
         rootOntology.addAxiom(isRigid(clsB));
 
-        // TODO here must stand "assertFalse(..."
-        assertTrue(contextOntology.rigidClasses().anyMatch(cls -> cls.equals(clsB)));
+        // The signature of the root ontology is indexed when the context ontology is constructed.
+        assertFalse(contextOntology.rigidClasses().anyMatch(cls -> cls.equals(clsB)));
+
+        // The global object axioms are copied when the context ontology is constructed.
+        long numberOfGlobalObjectAxioms = contextOntology.globalObjectOntology().count();
+        rootOntology.addAxiom(builder.stringToOWLAxiom("B ⊑ B3 @ global"));
+        assertEquals(numberOfGlobalObjectAxioms, contextOntology.globalObjectOntology().count());
+    }
+
+    @Test
+    public void testMetaConceptIds() throws Exception {
+        System.out.println("Executing testMetaConceptIds:");
+
+        assertEquals(contextOntology.outerAbstractedMetaConcepts().count(), contextOntology.numberOfMetaConcepts());
+        contextOntology.outerAbstractedMetaConcepts().forEach(metaConcept -> {
+            assertTrue(contextOntology.isAbstractedMetaConcept(metaConcept));
+            assertEquals(metaConcept,
+                    contextOntology.metaConceptOfId(contextOntology.metaConceptId(metaConcept)));
+        });
+        assertFalse(contextOntology.isAbstractedMetaConcept(clsC));
+        assertEquals(-1, contextOntology.metaConceptId(clsC));
+    }
+
+    @Test
+    public void testNegatedObjectAxiomsAreStable() throws Exception {
+        System.out.println("Executing testNegatedObjectAxiomsAreStable:");
+
+        // The negations of [A ⊑ ⊥] and [A ⊑ B] contain fresh individuals, which must be the same in every check.
+        RestrictedType type = new RestrictedType(
+                new HashSet<>(Collections.singletonList(meta2)),
+                new HashSet<>(Arrays.asList(meta1, meta5)));
+
+        assertEquals(contextOntology.objectAxiomsOfType(type).collect(Collectors.toSet()),
+                contextOntology.objectAxiomsOfType(type).collect(Collectors.toSet()));
+        assertEquals(contextOntology.getObjectOntology(Collections.singletonList(type)).axioms()
+                        .collect(Collectors.toSet()),
+                contextOntology.getObjectOntology(Collections.singletonList(type)).axioms()
+                        .collect(Collectors.toSet()));
     }
 
 
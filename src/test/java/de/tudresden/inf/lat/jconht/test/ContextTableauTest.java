@@ -3,21 +3,39 @@ package de.tudresden.inf.lat.jconht.test;
 import de.tudresden.inf.lat.jconht.model.AxiomBuilder;
 import de.tudresden.inf.lat.jconht.model.Configuration;
 import de.tudresden.inf.lat.jconht.model.ContextOntology;
+import de.tudresden.inf.lat.jconht.model.ReasoningMetrics;
+import de.tudresden.inf.lat.jconht.model.RestrictedType;
+import de.tudresden.inf.lat.jconht.tableau.AdmissibilityChecker;
 import de.tudresden.inf.lat.jconht.tableau.ContextReasoner;
 import de.tudresden.inf.lat.jconht.tableau.ContextTableau;
+import de.tudresden.inf.lat.jconht.tableau.EntailmentChecker;
+import de.tudresden.inf.lat.jconht.tableau.ObjectReasoningSession;
+import de.tudresden.inf.lat.jconht.tableau.VerdictStore;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.semanticweb.HermiT.tableau.ExtensionManager;
 import org.semanticweb.HermiT.tableau.Node;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static de.tudresden.inf.lat.jconht.model.TupleTableEntries.*;
 import static org.junit.Assert.*;
 
 /**
@@ -257,6 +275,30 @@ public class ContextTableauTest {
         assertFalse(reasoner.isConsistent());
     }
 
+    @Test
+    public void testNegatedAxiomsInSeveralWorldsForRigidNames() throws Exception {
+        System.out.println("Executing testNegatedAxiomsInSeveralWorldsForRigidNames:");
+
+        // Both worlds contain a witness of ¬(A ⊑ B). The witnesses differ in the rigid name R, hence each world needs
+        // its own witness.
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                builder.stringToOWLAxiom("(¬meta1 ⊓ meta2)(c)"),
+                builder.stringToOWLAxiom("(¬meta1 ⊓ meta3)(d)"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("A ⊑ B @ meta1"),
+                builder.stringToOWLAxiom("A ⊑ R @ meta2"),
+                builder.stringToOWLAxiom("A ⊑ ¬R @ meta3"),
+                // Rigidity axioms
+                isRigid(builder.stringToConcept("R").asOWLClass())
+        ));
+
+        ContextOntology contextOntology = new ContextOntology(rootOntology, confWithoutDebug);
+        ContextReasoner reasoner = new ContextReasoner(contextOntology);
+
+        assertTrue(reasoner.isConsistent());
+        reasoner.dispose();
+    }
+
     @Test
     public void testConsistentInterpretations1() throws Exception {
         System.out.println("Executing testConsistentInterpretations1:");
@@ -350,6 +392,138 @@ public class ContextTableauTest {
         assertEquals(((ContextTableau) reasoner.getTableau()).consistentInterpretations().count(), 2);
     }
 
+    @Test
+    public void testConflictLearning() throws Exception {
+        System.out.println("Executing testConflictLearning:");
+
+        // c is in meta1, and in meta2 or meta3, which both contradict meta1.
+        OWLOntology inconsistentOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("(B1 ⊔ B2 ⊔ B3)(c)"),
+                builder.stringToOWLAxiom("(C1 ⊔ C2 ⊔ C3)(c)"),
+                builder.stringToOWLAxiom("meta1(c)"),
+                builder.stringToOWLAxiom("⊤ ⊑ meta2 ⊔ meta3"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("A(a) @ meta1"),
+                builder.stringToOWLAxiom("¬A(a) @ meta2"),
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta3")
+        ));
+
+        for (boolean useConflictLearning : new boolean[]{false, true}) {
+            ContextOntology contextOntology = new ContextOntology(inconsistentOntology,
+                    new Configuration(0).setConflictLearning(useConflictLearning));
+            ContextReasoner reasoner = new ContextReasoner(contextOntology);
+            assertFalse(reasoner.isConsistent());
+            reasoner.dispose();
+        }
+
+        // Now meta3 does not contradict meta1.
+        OWLOntology consistentOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("(B1 ⊔ B2 ⊔ B3)(c)"),
+                builder.stringToOWLAxiom("(C1 ⊔ C2 ⊔ C3)(c)"),
+                builder.stringToOWLAxiom("meta1(c)"),
+                builder.stringToOWLAxiom("⊤ ⊑ meta2 ⊔ meta3"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("A(a) @ meta1"),
+                builder.stringToOWLAxiom("¬A(a) @ meta2"),
+                builder.stringToOWLAxiom("B ⊑ ⊥ @ meta3")
+        ));
+
+        for (boolean useConflictLearning : new boolean[]{false, true}) {
+            ContextOntology contextOntology = new ContextOntology(consistentOntology,
+                    new Configuration(0).setConflictLearning(useConflictLearning));
+            ContextReasoner reasoner = new ContextReasoner(contextOntology);
+            assertTrue(reasoner.isConsistent());
+            reasoner.dispose();
+        }
+
+        // Backjumping on the nogood of one individual keeps the nogood of the other one, hence the next premodel is
+        // rejected without an object check. Without repletion, only d and e have choices.
+        OWLOntology prunedOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("(F1 ⊔ F2)(d)"),
+                builder.stringToOWLAxiom("(G1 ⊔ G2)(e)"),
+                builder.stringToOWLAxiom("F1 ⊑ meta1 ⊓ meta2"),
+                builder.stringToOWLAxiom("G1 ⊑ meta1 ⊓ meta2"),
+                builder.stringToOWLAxiom("F2 ⊑ meta1"),
+                builder.stringToOWLAxiom("G2 ⊑ meta1"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("A(a) @ meta1"),
+                builder.stringToOWLAxiom("¬A(a) @ meta2")
+        ));
+
+        ContextOntology contextOntology = new ContextOntology(prunedOntology,
+                new Configuration(true, 0, false, false).setConflictLearning(true));
+        ContextReasoner reasoner = new ContextReasoner(contextOntology);
+        assertTrue(reasoner.isConsistent());
+        ReasoningMetrics metrics = reasoner.getMetrics();
+        assertEquals(1, metrics.count(ReasoningMetrics.Counter.LEARNED_NOGOODS));
+        assertTrue(metrics.count(ReasoningMetrics.Counter.NOGOOD_PRUNINGS) > 0);
+        reasoner.dispose();
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        System.out.println("Executing testTimeout:");
+
+        // ¬C(s), [¬A(a)] ⊑ C, ¬C ⊑ [A ⊑ ⊥]
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("¬C(c)"),
+                builder.stringToOWLAxiom("meta1 ⊑ C"),
+                builder.stringToOWLAxiom("¬C ⊑ meta2"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("¬A(a) @ meta1"),
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta2")
+        ));
+
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(rootOntology));
+        assertEquals(Optional.of(false), reasoner.isConsistent(1, TimeUnit.MINUTES));
+        reasoner.dispose();
+    }
+
+    @Test
+    public void testLinearDualization() throws Exception {
+        System.out.println("Executing testLinearDualization:");
+
+        // ¬C(s), [¬A(a)] ⊑ C, ¬C ⊑ [A ⊑ ⊥]
+        OWLOntology inconsistentOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("¬C(c)"),
+                builder.stringToOWLAxiom("meta1 ⊑ C"),
+                builder.stringToOWLAxiom("¬C ⊑ meta2"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("¬A(a) @ meta1"),
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta2")
+        ));
+
+        // [¬A(a)] ⊓ [A(a)] ⊑ C, C(c), (∃r.C)(c)
+        OWLOntology consistentOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("meta1 ⊓ meta2 ⊑ C"),
+                builder.stringToOWLAxiom("C(c)"),
+                builder.stringToOWLAxiom("(∃R.C)(c)"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("A(a) @ meta1"),
+                builder.stringToOWLAxiom("¬A(a) @ meta2")
+        ));
+
+        for (boolean useLinearDualization : new boolean[]{false, true}) {
+            ContextOntology contextOntology = new ContextOntology(inconsistentOntology,
+                    new Configuration(true, 0, true, false).setLinearDualization(useLinearDualization));
+            ContextReasoner reasoner = new ContextReasoner(contextOntology);
+            assertFalse(reasoner.isConsistent());
+            reasoner.dispose();
+
+            contextOntology = new ContextOntology(consistentOntology,
+                    new Configuration(true, 0, true, false).setLinearDualization(useLinearDualization));
+            reasoner = new ContextReasoner(contextOntology);
+            assertTrue(reasoner.isConsistent());
+            reasoner.dispose();
+        }
+    }
+
     @Test
     public void testMetaConceptsOfNode() throws Exception {
         System.out.println("Executing testMetaConceptsOfNode:");
@@ -540,6 +714,440 @@ public class ContextTableauTest {
 
     }
 
+    @Test
+    public void testParallelAdmissibility() throws Exception {
+        System.out.println("Executing testParallelAdmissibility:");
+
+        // [A ⊑ ⊥] @ meta1, [A(a)] @ meta2, [B(b)] @ meta3, [C(c)] @ meta4, [D(d)] @ meta5
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta1"),
+                builder.stringToOWLAxiom("A(a) @ meta2"),
+                builder.stringToOWLAxiom("B(b) @ meta3"),
+                builder.stringToOWLAxiom("C(c) @ meta4"),
+                builder.stringToOWLAxiom("D(d) @ meta5")
+        ));
+        OWLClass meta1 = builder.stringToConcept("meta1").asOWLClass();
+        OWLClass meta2 = builder.stringToConcept("meta2").asOWLClass();
+        OWLClass meta3 = builder.stringToConcept("meta3").asOWLClass();
+        OWLClass meta4 = builder.stringToConcept("meta4").asOWLClass();
+        OWLClass meta5 = builder.stringToConcept("meta5").asOWLClass();
+        int threads = 4;
+        ContextOntology contextOntology = new ContextOntology(rootOntology,
+                new Configuration(0).setObjectReasoningThreads(threads));
+        AdmissibilityChecker admissibilityChecker = new AdmissibilityChecker(contextOntology);
+
+        RestrictedType inconsistentType = new RestrictedType(new HashSet<>(Arrays.asList(meta1, meta2)),
+                Collections.emptySet());
+        assertEquals(Optional.of(inconsistentType), admissibilityChecker.findInconsistentType(Arrays.asList(
+                new RestrictedType(Collections.singleton(meta3), Collections.emptySet()),
+                new RestrictedType(Collections.singleton(meta4), Collections.emptySet()),
+                inconsistentType,
+                new RestrictedType(Collections.singleton(meta5), Collections.emptySet()),
+                new RestrictedType(new HashSet<>(Arrays.asList(meta1, meta3)), Collections.emptySet()))));
+        assertEquals(Optional.of(false), admissibilityChecker.getTypeCache().lookup(inconsistentType));
+
+        assertFalse(admissibilityChecker.findInconsistentType(Arrays.asList(
+                new RestrictedType(new HashSet<>(Arrays.asList(meta2, meta3)), Collections.emptySet()),
+                new RestrictedType(new HashSet<>(Arrays.asList(meta3, meta4)), Collections.emptySet()),
+                new RestrictedType(new HashSet<>(Arrays.asList(meta2, meta5)), Collections.singleton(meta1)),
+                new RestrictedType(new HashSet<>(Arrays.asList(meta4, meta5)), Collections.emptySet()))).isPresent());
+
+        // Every worker holds at most one session at a time, and cancelled sessions are returned to the pool.
+        assertTrue(contextOntology.getMetrics().count(ReasoningMetrics.Counter.OBJECT_REASONERS) <= threads);
+        admissibilityChecker.dispose();
+
+        // A session whose check was cancelled can be reused.
+        ObjectReasoningSession session = new ObjectReasoningSession(contextOntology);
+        session.interrupt();
+        try {
+            session.isConsistent(inconsistentType);
+            fail();
+        } catch (ReasonerInterruptedException e) {
+            assertTrue(session.wasInterrupted());
+        }
+        session.clearInterrupt();
+        assertFalse(session.isConsistent(inconsistentType));
+        assertTrue(session.isConsistent(new RestrictedType(Collections.singleton(meta3), Collections.emptySet())));
+        session.dispose();
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        System.out.println("Executing testMetrics:");
+
+        // ¬C(s), [¬A(a)] ⊑ C, ¬C ⊑ [A ⊑ ⊥]
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("¬C(c)"),
+                builder.stringToOWLAxiom("meta1 ⊑ C"),
+                builder.stringToOWLAxiom("¬C ⊑ meta2"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("¬A(a) @ meta1"),
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta2")
+        ));
+
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(rootOntology));
+        ReasoningMetrics metrics = reasoner.getMetrics();
+        metrics.reset();
+        assertFalse(reasoner.isConsistent());
+        System.out.println(metrics);
+
+        // The context ontology is inconsistent, hence every premodel was checked for admissibility.
+        assertTrue(metrics.count(ReasoningMetrics.Counter.PREMODELS) > 0);
+        assertEquals(metrics.count(ReasoningMetrics.Counter.PREMODELS),
+                metrics.count(ReasoningMetrics.Counter.ADMISSIBILITY_CHECKS));
+        assertTrue(metrics.count(ReasoningMetrics.Counter.OBJECT_CHECKS) > 0);
+        assertTrue(metrics.count(ReasoningMetrics.Counter.OBJECT_REASONERS) > 0);
+        assertTrue(metrics.peakTableauSize() > 0);
+
+        metrics.reset();
+        assertEquals(0, metrics.count(ReasoningMetrics.Counter.PREMODELS));
+        assertEquals(0, metrics.peakTableauSize());
+        reasoner.dispose();
+    }
+
+    @Test
+    public void testTupleCursors() throws Exception {
+        System.out.println("Executing testTupleCursors:");
+
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(
+                manager.loadOntologyFromOntologyDocument(new File("input/Bank.owl"))));
+        reasoner.isConsistent();
+        ExtensionManager extensionManager = reasoner.getTableau().getExtensionManager();
+
+        // The cursors walk the same tuples as the streams of entries.
+        List<BinaryTupleTableEntry> binaryEntries =
+                binaryTupleTableEntries(extensionManager, dataFactory).collect(Collectors.toList());
+        BinaryTupleCursor binaryCursor = new BinaryTupleCursor(extensionManager);
+        for (BinaryTupleTableEntry entry : binaryEntries) {
+            assertTrue(binaryCursor.next());
+            assertEquals(entry.getTupleIndex(), binaryCursor.getTupleIndex());
+            assertEquals(entry.getConcept(), binaryCursor.getConcept());
+            assertEquals(entry.getNode(), binaryCursor.getNode());
+            assertEquals(entry.getDependencySet(), binaryCursor.getDependencySet());
+        }
+        assertFalse(binaryCursor.next());
+
+        List<TernaryTupleTableEntry> ternaryEntries =
+                ternaryTupleTableEntries(extensionManager).collect(Collectors.toList());
+        TernaryTupleCursor ternaryCursor = new TernaryTupleCursor(extensionManager);
+        for (TernaryTupleTableEntry entry : ternaryEntries) {
+            assertTrue(ternaryCursor.next());
+            assertEquals(entry.getRole().orElse(null), ternaryCursor.getRole());
+            assertEquals(entry.getInequality().isPresent(), ternaryCursor.isInequality());
+            assertEquals(entry.getNodeFrom(), ternaryCursor.getNodeFrom());
+            assertEquals(entry.getNodeTo(), ternaryCursor.getNodeTo());
+        }
+        assertFalse(ternaryCursor.next());
+
+        // A cursor can be reused after a reset.
+        binaryCursor.reset();
+        assertEquals(!binaryEntries.isEmpty(), binaryCursor.next());
+        reasoner.dispose();
+    }
+
+    @Test
+    public void testVerdictStore() throws Exception {
+        System.out.println("Executing testVerdictStore:");
+
+        // ¬C(s), [¬A(a)] ⊑ C, ¬C ⊑ [A ⊑ ⊥]
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("¬C(c)"),
+                builder.stringToOWLAxiom("meta1 ⊑ C"),
+                builder.stringToOWLAxiom("¬C ⊑ meta2"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("¬A(a) @ meta1"),
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta2")
+        ));
+        File directory = Files.createTempDirectory("verdicts").toFile();
+
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(rootOntology,
+                new Configuration().setVerdictStoreDirectory(directory)));
+        assertFalse(reasoner.isConsistent());
+        assertTrue(reasoner.getMetrics().count(ReasoningMetrics.Counter.OBJECT_CHECKS) > 0);
+        reasoner.dispose();
+
+        // A second run takes all verdicts from the store.
+        reasoner = new ContextReasoner(new ContextOntology(rootOntology,
+                new Configuration().setVerdictStoreDirectory(directory)));
+        assertFalse(reasoner.isConsistent());
+        assertEquals(0, reasoner.getMetrics().count(ReasoningMetrics.Counter.OBJECT_CHECKS));
+        reasoner.dispose();
+
+        Files.delete(directory.toPath().resolve("verdicts.tsv"));
+        Files.delete(directory.toPath());
+    }
+
+    @Test
+    public void testVerdictStoreWithRepletion() throws Exception {
+        System.out.println("Executing testVerdictStoreWithRepletion:");
+
+        // ¬meta2(c), [A ⊑ ⊥] @ meta2. With repletion, c is an instance of the dual class of meta2, whose object axiom
+        // contains a fresh individual.
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                builder.stringToOWLAxiom("¬meta2(c)"),
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta2")
+        ));
+        File directory = Files.createTempDirectory("verdicts").toFile();
+        assertTrue(new Configuration().useRepletion());
+
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(rootOntology,
+                new Configuration().setVerdictStoreDirectory(directory)));
+        assertTrue(reasoner.isConsistent());
+        assertTrue(reasoner.getMetrics().count(ReasoningMetrics.Counter.OBJECT_CHECKS) > 0);
+        reasoner.dispose();
+
+        // The reopened store knows the verdicts, although the dual class is negated with another fresh individual.
+        reasoner = new ContextReasoner(new ContextOntology(rootOntology,
+                new Configuration().setVerdictStoreDirectory(directory)));
+        assertTrue(reasoner.isConsistent());
+        assertEquals(0, reasoner.getMetrics().count(ReasoningMetrics.Counter.OBJECT_CHECKS));
+        reasoner.dispose();
+
+        Files.delete(directory.toPath().resolve("verdicts.tsv"));
+        Files.delete(directory.toPath());
+    }
+
+    @Test
+    public void testVerdictStoreKeys() throws Exception {
+        System.out.println("Executing testVerdictStoreKeys:");
+
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                builder.stringToOWLAxiom("A ⊑ B @ meta1"),
+                builder.stringToOWLAxiom("B ⊑ C @ meta2"),
+                builder.stringToOWLAxiom("C ⊑ D @ meta3")
+        ));
+        OWLClass meta1 = builder.stringToConcept("meta1").asOWLClass();
+        OWLClass meta2 = builder.stringToConcept("meta2").asOWLClass();
+        OWLClass meta3 = builder.stringToConcept("meta3").asOWLClass();
+        File directory = Files.createTempDirectory("verdicts").toFile();
+        ContextOntology contextOntology = new ContextOntology(rootOntology, confWithoutDebug);
+        VerdictStore verdictStore = new VerdictStore(directory, contextOntology);
+
+        // The types select the same axioms in the same order, but with different polarities.
+        RestrictedType storedType = new RestrictedType(new HashSet<>(Arrays.asList(meta1, meta2)),
+                Collections.singleton(meta3));
+        RestrictedType otherType = new RestrictedType(Collections.singleton(meta1),
+                new HashSet<>(Arrays.asList(meta2, meta3)));
+        verdictStore.store(storedType, true);
+        assertEquals(Optional.of(true), verdictStore.lookup(storedType));
+        assertFalse(verdictStore.lookup(otherType).isPresent());
+        verdictStore.close();
+
+        Files.delete(directory.toPath().resolve("verdicts.tsv"));
+        Files.delete(directory.toPath());
+    }
+
+    @Test
+    public void testVerdictStoreKeysWithAnonymousIndividuals() throws Exception {
+        System.out.println("Executing testVerdictStoreKeysWithAnonymousIndividuals:");
+
+        OWLClass meta1 = builder.stringToConcept("meta1").asOWLClass();
+        OWLClass meta2 = builder.stringToConcept("meta2").asOWLClass();
+        RestrictedType restrictedType = new RestrictedType(new HashSet<>(Arrays.asList(meta1, meta2)),
+                Collections.emptySet());
+        File directory = Files.createTempDirectory("verdicts").toFile();
+
+        // A(x) @ meta1, B(x) @ meta2, where x is an anonymous individual.
+        OWLAnonymousIndividual individual = dataFactory.getOWLAnonymousIndividual();
+        VerdictStore verdictStore = new VerdictStore(directory, new ContextOntology(manager.createOntology(Stream.of(
+                anonymousAssertion("A", individual, "meta1"),
+                anonymousAssertion("B", individual, "meta2"))), confWithoutDebug));
+        verdictStore.store(restrictedType, true);
+        verdictStore.close();
+
+        // The same axioms with another anonymous individual have the same key.
+        OWLAnonymousIndividual otherIndividual = dataFactory.getOWLAnonymousIndividual();
+        verdictStore = new VerdictStore(directory, new ContextOntology(manager.createOntology(Stream.of(
+                anonymousAssertion("A", otherIndividual, "meta1"),
+                anonymousAssertion("B", otherIndividual, "meta2"))), confWithoutDebug));
+        assertEquals(Optional.of(true), verdictStore.lookup(restrictedType));
+        verdictStore.close();
+
+        // Axioms about two different anonymous individuals have another key.
+        verdictStore = new VerdictStore(directory, new ContextOntology(manager.createOntology(Stream.of(
+                anonymousAssertion("A", dataFactory.getOWLAnonymousIndividual(), "meta1"),
+                anonymousAssertion("B", dataFactory.getOWLAnonymousIndividual(), "meta2"))), confWithoutDebug));
+        assertFalse(verdictStore.lookup(restrictedType).isPresent());
+        verdictStore.close();
+
+        Files.delete(directory.toPath().resolve("verdicts.tsv"));
+        Files.delete(directory.toPath());
+    }
+
+    /**
+     * @return The class assertion of the given class and anonymous individual, annotated with the given meta concept.
+     */
+    private OWLAxiom anonymousAssertion(String owlClass, OWLAnonymousIndividual individual, String metaConcept) {
+
+        OWLAxiom annotatedAxiom = builder.stringToOWLAxiom(owlClass + "(a) @ " + metaConcept);
+        return dataFactory.getOWLClassAssertionAxiom(builder.stringToConcept(owlClass), individual,
+                annotatedAxiom.annotations().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testApplyChanges() throws Exception {
+        System.out.println("Executing testApplyChanges:");
+
+        // ¬C(s), [¬A(a)] ⊑ C, ¬C ⊑ [A ⊑ ⊥]
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("¬C(c)"),
+                builder.stringToOWLAxiom("meta1 ⊑ C"),
+                builder.stringToOWLAxiom("¬C ⊑ meta2"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("¬A(a) @ meta1"),
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta2")
+        ));
+
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(rootOntology));
+        assertFalse(reasoner.isConsistent());
+        long numberOfOntologies = manager.ontologies().count();
+
+        // An unrelated meta axiom does not change the object ontologies, hence their verdicts are reused.
+        OWLAxiom addedAxiom = builder.stringToOWLAxiom("D(d)");
+        ContextReasoner changedReasoner =
+                reasoner.applyChanges(Collections.singletonList(new AddAxiom(rootOntology, addedAxiom)));
+        assertFalse(changedReasoner.isConsistent());
+        assertTrue(changedReasoner.getMetrics().count(ReasoningMetrics.Counter.TYPE_CACHE_HITS) > 0);
+
+        // Neither the root ontology nor the previous reasoner is changed.
+        assertFalse(rootOntology.containsAxiom(addedAxiom));
+        assertFalse(reasoner.isConsistent());
+        reasoner.dispose();
+
+        // Without the meta assertion, the context ontology is consistent.
+        reasoner = changedReasoner.applyChanges(Collections.singletonList(
+                new RemoveAxiom(rootOntology, builder.stringToOWLAxiom("¬C(c)"))));
+        assertTrue(reasoner.isConsistent());
+        assertFalse(changedReasoner.isConsistent());
+        changedReasoner.dispose();
+        reasoner.dispose();
+
+        // The copies of the root ontology are released with their reasoners.
+        assertEquals(numberOfOntologies, manager.ontologies().count());
+    }
+
+    @Test
+    public void testReuseResultsWithRepletion() throws Exception {
+        System.out.println("Executing testReuseResultsWithRepletion:");
+
+        // ¬meta2(c), [A ⊑ ⊥] @ meta2. With repletion, the types contain the dual class of meta2, whose object axiom
+        // contains a fresh individual.
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                builder.stringToOWLAxiom("¬meta2(c)"),
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta2")
+        ));
+
+        ContextReasoner previousReasoner = new ContextReasoner(new ContextOntology(rootOntology));
+        assertTrue(previousReasoner.isConsistent());
+        ContextTableau previousTableau = (ContextTableau) previousReasoner.getTableau();
+
+        // Another version of the same root ontology negates the object axioms with other fresh individuals.
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(rootOntology));
+        int cachedVerdicts = previousTableau.getTypeCache().verdicts().size();
+        assertTrue(cachedVerdicts > 0);
+        assertEquals(cachedVerdicts, ((ContextTableau) reasoner.getTableau()).reuseResultsOf(previousTableau));
+
+        previousReasoner.dispose();
+        reasoner.dispose();
+    }
+
+    @Test
+    public void testClassifyMetaConcepts() throws Exception {
+        System.out.println("Executing testClassifyMetaConcepts:");
+
+        // C ⊑ D, E ⊑ meta1, ¬meta2 ⊑ H, [A ⊑ ⊥] @ meta1, [A(a)] @ meta2
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("C ⊑ D"),
+                builder.stringToOWLAxiom("E ⊑ meta1"),
+                builder.stringToOWLAxiom("¬meta2 ⊑ H"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta1"),
+                builder.stringToOWLAxiom("A(a) @ meta2")
+        ));
+        OWLClass clsC = builder.stringToConcept("C").asOWLClass();
+        OWLClass clsD = builder.stringToConcept("D").asOWLClass();
+        OWLClass clsE = builder.stringToConcept("E").asOWLClass();
+        OWLClass clsH = builder.stringToConcept("H").asOWLClass();
+
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(rootOntology, confWithoutDebug));
+
+        // In a context of E, the object axiom of meta2 cannot hold, hence E ⊑ H only holds in the context semantics.
+        assertTrue(reasoner.isSatisfiable(clsE));
+        assertFalse(reasoner.isSatisfiable(dataFactory.getOWLObjectIntersectionOf(
+                clsE, dataFactory.getOWLObjectComplementOf(clsH))));
+        assertTrue(reasoner.isSatisfiable(dataFactory.getOWLObjectIntersectionOf(
+                clsH, dataFactory.getOWLObjectComplementOf(clsE))));
+
+        Map<OWLClass, Set<OWLClass>> subsumers = reasoner.classifyMetaConcepts();
+        assertEquals(Collections.singleton(clsD), subsumers.get(clsC));
+        assertEquals(Collections.emptySet(), subsumers.get(clsD));
+        assertEquals(Collections.singleton(clsH), subsumers.get(clsE));
+        assertEquals(Collections.emptySet(), subsumers.get(clsH));
+        assertFalse(subsumers.containsKey(builder.stringToConcept("meta1").asOWLClass()));
+        reasoner.dispose();
+    }
+
+    @Test
+    public void testEntailments() throws Exception {
+        System.out.println("Executing testEntailments:");
+
+        // E(e), C ⊑ D, E ⊑ meta1, ¬meta2 ⊑ H, [A ⊑ ⊥] @ meta1, [A(a)] @ meta2
+        OWLOntology rootOntology = manager.createOntology(Stream.of(
+                // meta level
+                builder.stringToOWLAxiom("E(e)"),
+                builder.stringToOWLAxiom("C ⊑ D"),
+                builder.stringToOWLAxiom("E ⊑ meta1"),
+                builder.stringToOWLAxiom("¬meta2 ⊑ H"),
+                // mapping of o-axioms
+                builder.stringToOWLAxiom("A ⊑ ⊥ @ meta1"),
+                builder.stringToOWLAxiom("A(a) @ meta2")
+        ));
+        long axiomCount = rootOntology.getAxiomCount();
+
+        ContextReasoner reasoner = new ContextReasoner(new ContextOntology(rootOntology,
+                new Configuration(0).setEntailmentThreads(2)));
+
+        // The first four axioms are checked on the premodels, the last two with their clausified negations.
+        List<OWLAxiom> axioms = Stream.of("E ⊑ H", "H ⊑ E", "C ⊑ D", "H(e)", "E ⊑ meta1 ⊓ H", "H ⊑ E ⊓ C")
+                .map(builder::stringToOWLAxiom)
+                .collect(Collectors.toList());
+        Map<OWLAxiom, Boolean> entailments = new EntailmentChecker(reasoner).entailments(axioms);
+        assertEquals(axioms, new ArrayList<>(entailments.keySet()));
+        assertEquals(Arrays.asList(true, false, true, true, true, false), new ArrayList<>(entailments.values()));
+
+        assertTrue(reasoner.isEntailed(builder.stringToOWLAxiom("E ⊑ H")));
+        assertTrue(reasoner.isEntailed(Arrays.asList(axioms.get(0), axioms.get(2), axioms.get(4))));
+        assertFalse(reasoner.isEntailed(axioms));
+        assertFalse(reasoner.isEntailed(new HashSet<>(axioms)));
+
+        // The negations of axioms with inverse roles are not supported by the tableau, hence a further tableau is used.
+        OWLObjectPropertyExpression inverseRole = builder.stringToRole("r").getInverseProperty();
+        OWLAxiom inverseSubsumption = dataFactory.getOWLSubClassOfAxiom(
+                dataFactory.getOWLObjectSomeValuesFrom(inverseRole, builder.stringToConcept("E")),
+                builder.stringToConcept("H"));
+        OWLAxiom entailedInverseSubsumption = dataFactory.getOWLSubClassOfAxiom(
+                dataFactory.getOWLObjectSomeValuesFrom(inverseRole, builder.stringToConcept("E")),
+                dataFactory.getOWLObjectSomeValuesFrom(inverseRole, builder.stringToConcept("meta1")));
+        assertEquals(Arrays.asList(false, true), new ArrayList<>(new EntailmentChecker(reasoner)
+                .entailments(Arrays.asList(inverseSubsumption, entailedInverseSubsumption)).values()));
+
+        // Axioms that cannot be negated are checked by HermiT.
+        OWLObjectPropertyExpression role = builder.stringToRole("r");
+        OWLAxiom roleInclusion = dataFactory.getOWLSubObjectPropertyOfAxiom(role, role);
+        assertFalse(new EntailmentChecker(reasoner).canCheck(roleInclusion));
+        assertTrue(reasoner.isEntailed(roleInclusion));
+        assertTrue(reasoner.isEntailed(Arrays.asList(roleInclusion, axioms.get(0))));
+
+        // The root ontology is not changed by the queries.
+        assertEquals(axiomCount, rootOntology.getAxiomCount());
+        assertTrue(reasoner.isConsistent());
+        reasoner.dispose();
+    }
+
 
     // Helper functions
 
@@ -0,0 +1,129 @@
+package de.tudresden.inf.lat.jconht.test;
+
+import de.tudresden.inf.lat.jconht.model.RestrictedType;
+import de.tudresden.inf.lat.jconht.tableau.TypeCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is a test class for the cache of object consistency verdicts.
+ *
+ * @author Stephan Böhme
+ * @author Marcel Lippmann
+ */
+public class TypeCacheTest {
+
+    private OWLDataFactory dataFactory;
+    private OWLClass meta1;
+    private OWLClass meta2;
+    private OWLClass meta3;
+
+    @Before
+    public void setUp() throws Exception {
+
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        dataFactory = manager.getOWLDataFactory();
+        meta1 = dataFactory.getOWLClass("cls:meta1");
+        meta2 = dataFactory.getOWLClass("cls:meta2");
+        meta3 = dataFactory.getOWLClass("cls:meta3");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        dataFactory.purge();
+    }
+
+    @Test
+    public void testRestrictedTypeEquality() throws Exception {
+        System.out.println("Executing testRestrictedTypeEquality:");
+
+        RestrictedType type1 = new RestrictedType(
+                Stream.of(meta1, meta2).collect(Collectors.toSet()),
+                Collections.singleton(meta3));
+        RestrictedType type2 = new RestrictedType(
+                Stream.of(meta2, meta1).collect(Collectors.toSet()),
+                Collections.singleton(meta3));
+        RestrictedType type3 = new RestrictedType(
+                Stream.of(meta1, meta3).collect(Collectors.toSet()),
+                Collections.singleton(meta2));
+
+        assertEquals(type1, type2);
+        assertEquals(type1.hashCode(), type2.hashCode());
+        assertNotEquals(type1, type3);
+    }
+
+    @Test
+    public void testLookupAndStore() throws Exception {
+        System.out.println("Executing testLookupAndStore:");
+
+        TypeCache cache = new TypeCache(10);
+        RestrictedType type = new RestrictedType(Collections.singleton(meta1), Collections.singleton(meta2));
+
+        assertEquals(Optional.empty(), cache.lookup(type));
+        cache.store(type, false);
+        assertEquals(Optional.of(false), cache.lookup(
+                new RestrictedType(Collections.singleton(meta1), Collections.singleton(meta2))));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        System.out.println("Executing testEviction:");
+
+        TypeCache cache = new TypeCache(2);
+        RestrictedType type1 = new RestrictedType(Collections.singleton(meta1), Collections.emptySet());
+        RestrictedType type2 = new RestrictedType(Collections.singleton(meta2), Collections.emptySet());
+        RestrictedType type3 = new RestrictedType(Collections.singleton(meta3), Collections.emptySet());
+
+        cache.store(type1, true);
+        cache.store(type2, true);
+        // Access type1 s.t. type2 is the least recently used type.
+        cache.lookup(type1);
+        cache.store(type3, false);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.lookup(type1).isPresent());
+        assertFalse(cache.lookup(type2).isPresent());
+        assertTrue(cache.lookup(type3).isPresent());
+    }
+
+    @Test
+    public void testLatticeLookup() throws Exception {
+        System.out.println("Executing testLatticeLookup:");
+
+        TypeCache cache = new TypeCache(10);
+        // {meta1, ¬meta2} is inconsistent and {meta1, meta3} is consistent.
+        cache.store(new RestrictedType(Collections.singleton(meta1), Collections.singleton(meta2)), false);
+        cache.store(new RestrictedType(Stream.of(meta1, meta3).collect(Collectors.toSet()),
+                Collections.emptySet()), true);
+
+        // Every supertype of an inconsistent type is inconsistent.
+        assertEquals(Optional.of(false), cache.lookup(new RestrictedType(
+                Stream.of(meta1, meta3).collect(Collectors.toSet()), Collections.singleton(meta2))));
+        // Every subtype of a consistent type is consistent.
+        assertEquals(Optional.of(true), cache.lookup(new RestrictedType(
+                Collections.singleton(meta3), Collections.emptySet())));
+        // The polarity of a meta concept matters.
+        assertEquals(Optional.empty(), cache.lookup(new RestrictedType(
+                Collections.singleton(meta2), Collections.emptySet())));
+        assertEquals(Optional.empty(), cache.lookup(new RestrictedType(
+                Collections.singleton(meta1), Collections.singleton(meta3))));
+
+        assertEquals(2, cache.latticeHits());
+        assertEquals(2, cache.misses());
+    }
+}